@@ -0,0 +1,91 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.datajpa.DataJpaApplication;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.AsyncMemberRepository;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 단건 조회 REQUESTS 건 처리량 비교 (ops/s = 요청/초)
+ * 동기: 클라이언트 스레드 CLIENTS개가 각자 블로킹 호출
+ * 비동기: 스레드 하나가 요청을 모두 넘기고 repositoryExecutor가 (제한된 동시성으로) 처리
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AsyncMemberRepositoryBenchmark {
+
+    static final int MEMBER_COUNT = 100;
+    static final int CLIENTS = 64;
+    static final int REQUESTS = 1000; // repositoryExecutor queue(1000) + threads(10) 안쪽
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    AsyncMemberRepository asyncMemberRepository;
+    ExecutorService clients;
+    List<Long> memberIds = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("decorator.datasource.p6spy.enable-logging=false", "logging.level.root=warn")
+                .run();
+        memberRepository = context.getBean(MemberRepository.class);
+        asyncMemberRepository = context.getBean(AsyncMemberRepository.class);
+        clients = Executors.newFixedThreadPool(CLIENTS);
+
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            memberIds.add(memberRepository.save(new Member("asyncMember" + i, i)).getId());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        clients.shutdown();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public List<Optional<Member>> syncClients() throws InterruptedException, ExecutionException {
+        List<Future<Optional<Member>>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            Long id = memberIds.get(i % memberIds.size());
+            futures.add(clients.submit(() -> memberRepository.findById(id)));
+        }
+        List<Optional<Member>> results = new ArrayList<>(REQUESTS);
+        for (Future<Optional<Member>> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public List<Optional<Member>> asyncCaller() {
+        List<CompletableFuture<Optional<Member>>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            futures.add(asyncMemberRepository.findByIdAsync(memberIds.get(i % memberIds.size())));
+        }
+        List<Optional<Member>> results = new ArrayList<>(REQUESTS);
+        for (CompletableFuture<Optional<Member>> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+}
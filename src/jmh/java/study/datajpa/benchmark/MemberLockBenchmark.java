@@ -0,0 +1,67 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.DataJpaApplication;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.retry.OptimisticRetryExecutor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 회원(Member.age)을 여러 스레드가 동시에 수정할 때 처리량 비교
+ * 비관적 락(select for update) vs 낙관적 락(@Version + 재시도)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class MemberLockBenchmark {
+
+    static final String USERNAME = "contended";
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    TransactionTemplate tx;
+    OptimisticRetryExecutor retryExecutor;
+    Long memberId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("decorator.datasource.p6spy.enable-logging=false", "logging.level.root=warn",
+                        "datajpa.retry.max-attempts=100")
+                .run();
+        memberRepository = context.getBean(MemberRepository.class);
+        retryExecutor = context.getBean(OptimisticRetryExecutor.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        memberId = memberRepository.save(new Member(USERNAME, 0)).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void pessimistic() {
+        tx.executeWithoutResult(status -> {
+            Member member = memberRepository.findLockByUsername(USERNAME).get(0); // 커밋까지 row 락
+            member.setAge(member.getAge() + 1);
+        });
+    }
+
+    @Benchmark
+    public void optimistic() {
+        retryExecutor.run(() -> {
+            Member member = memberRepository.findById(memberId).get();
+            member.setAge(member.getAge() + 1);
+        });
+    }
+}
@@ -0,0 +1,189 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.DataJpaApplication;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.CountStrategy;
+import study.datajpa.repository.MemberProjection;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MemberRepository 주요 경로 성능 측정 (내장 H2)
+ * 벤치마크마다 JVM을 새로 띄우고 회원 1000명, 팀 10개로 시작
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberRepositoryBenchmark {
+
+    static final int MEMBER_COUNT = 1000;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    TransactionTemplate tx;
+    TransactionTemplate readOnlyTx;
+    List<Long> memberIds = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("decorator.datasource.p6spy.enable-logging=false", "logging.level.root=warn")
+                .run();
+        memberRepository = context.getBean(MemberRepository.class);
+        TeamRepository teamRepository = context.getBean(TeamRepository.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+
+        tx.executeWithoutResult(status -> {
+            List<Team> teams = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                teams.add(teamRepository.save(new Team("team" + i)));
+            }
+            for (int i = 0; i < MEMBER_COUNT; i++) {
+                Member member = memberRepository.save(new Member("member" + i, i % 50, teams.get(i % 10)));
+                memberIds.add(member.getId());
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private String randomUsername() {
+        return "member" + ThreadLocalRandom.current().nextInt(MEMBER_COUNT);
+    }
+
+    @Benchmark
+    public Member save() {
+        return tx.execute(status -> memberRepository.save(new Member("saved", 20)));
+    }
+
+    @Benchmark
+    public List<Member> saveAll() {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            members.add(new Member("savedAll" + i, 20));
+        }
+        return tx.execute(status -> memberRepository.saveAll(members));
+    }
+
+    // saveAll 과 같은 100명 - pooled 시퀀스 + JDBC batch
+    @Benchmark
+    public Integer saveAllBatched() {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            members.add(new Member("savedBatched" + i, 20));
+        }
+        return tx.execute(status -> memberRepository.saveAllBatched(members, 50));
+    }
+
+    @Benchmark
+    public Member findById() {
+        Long id = memberIds.get(ThreadLocalRandom.current().nextInt(memberIds.size()));
+        return tx.execute(status -> memberRepository.findById(id).orElse(null));
+    }
+
+    @Benchmark
+    public List<Member> findByUsernameNamedQuery() {
+        String username = randomUsername();
+        return tx.execute(status -> memberRepository.findByUsername(username));
+    }
+
+    @Benchmark
+    public List<Member> findByUsernameDerived() {
+        String username = randomUsername();
+        return tx.execute(status -> memberRepository.findListByUsername(username));
+    }
+
+    @Benchmark
+    public Page<Member> findPageByAge() {
+        return tx.execute(status -> memberRepository.findPageByAge(10, PageRequest.of(3, 20, Sort.by(Sort.Direction.DESC, "username"))));
+    }
+
+    // 목록 API 한 페이지 - 엔티티 조회 후 Dto 변환 vs Dto로 바로 조회 (할당량은 -prof gc 의 gc.alloc.rate.norm)
+    @Benchmark
+    public Page<MemberDto> listEntityThenMap() {
+        return tx.execute(status -> memberRepository.findAll(listPage(), CountStrategy.EXACT).map(MemberDto::new));
+    }
+
+    @Benchmark
+    public Page<MemberDto> listDto() {
+        return tx.execute(status -> memberRepository.findDtoAll(listPage(), CountStrategy.EXACT));
+    }
+
+    private static PageRequest listPage() {
+        return PageRequest.of(3, 12, Sort.by(Sort.Direction.DESC, "username"));
+    }
+
+    // 회원 1000명 한 페이지 - 읽기/쓰기 vs 읽기 전용 트랜잭션
+    // 읽기/쓰기는 스냅샷 + 커밋 시점 flush(변경 감지), 읽기 전용은 둘 다 없음 (할당량은 -prof gc 의 gc.alloc.rate.norm)
+    @Benchmark
+    public Page<Member> fullPageReadWrite() {
+        return fullPage(tx);
+    }
+
+    @Benchmark
+    public Page<Member> fullPageReadOnly() {
+        return fullPage(readOnlyTx);
+    }
+
+    private Page<Member> fullPage(TransactionTemplate template) {
+        return template.execute(status -> memberRepository.findAll(PageRequest.of(0, MEMBER_COUNT), CountStrategy.EXACT));
+    }
+
+    @Benchmark
+    public Slice<Member> findSliceByAge() {
+        return tx.execute(status -> memberRepository.findSliceByAge(10, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "username"))));
+    }
+
+    // 프로젝션 방식별 전체 회원(1000명) 조회 - 네이티브 프로젝션 vs JPQL new
+    @Benchmark
+    public Page<MemberProjection> findByNativeProjection() {
+        return tx.execute(status -> memberRepository.findByNativeProjection(PageRequest.of(0, MEMBER_COUNT + 1)));
+    }
+
+    @Benchmark
+    public List<MemberDto> findMemberDto() {
+        return tx.execute(status -> memberRepository.findMemberDto());
+    }
+
+    @Benchmark
+    public List<Member> findMemberFetchJoin() {
+        return tx.execute(status -> memberRepository.findMemberFetchJoin());
+    }
+
+    @Benchmark
+    public List<Member> findMemberEntityGraph() {
+        return tx.execute(status -> memberRepository.findMemberEntityGraph());
+    }
+
+    @Benchmark
+    public Integer bulkAgePlus() {
+        return tx.execute(status -> {
+            int updated = memberRepository.bulkAgePlus(25);
+            status.setRollbackOnly(); // 데이터 유지 (반복 실행해도 같은 조건)
+            return updated;
+        });
+    }
+}
@@ -1,15 +1,20 @@
 package study.datajpa;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import study.datajpa.audit.AuditClock;
+import study.datajpa.audit.AuditorContext;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Optional;
-import java.util.UUID;
 
-@EnableJpaAuditing
+@EnableJpaAuditing(dateTimeProviderRef = "auditDateTimeProvider")
 @SpringBootApplication
 public class DataJpaApplication {
 
@@ -20,14 +25,17 @@ public class DataJpaApplication {
 	// 등록자, 수정자 설정 필요
 	@Bean
 	public AuditorAware<String> auditorProvider(){
-		return new AuditorAware<String>() {
-			@Override
-			public Optional<String> getCurrentAuditor() {
-				return Optional.of(UUID.randomUUID().toString()); // 지금은 랜덤으로
-			}
-		};
+		return AuditorContext::currentAuditor; // 요청/배치 단위로 한 번 정해둔 값 (엔티티마다 새로 만들지 않음)
 		// 참고:
 		// 1. 인터페이스에서 메서드 1개이면 람다로 변경 가능
-		// 2. 실제로는 SpringSecurity 사용하시면 세션정보에서 ID 꺼내셔야함	
+		// 2. 실제로는 SpringSecurity 사용하시면 세션정보에서 ID 꺼내셔야함 (AuditorFilter)
+	}
+
+	// 등록일, 수정일 - JpaBaseEntity의 @PrePersist/@PreUpdate 와 같은 시계 사용
+	@Bean
+	public DateTimeProvider auditDateTimeProvider(@Value("${datajpa.audit.clock-granularity:1ms}") Duration granularity,
+												  @Value("${datajpa.audit.pin-per-transaction:true}") boolean pinPerTransaction){
+		AuditClock.configure(Clock.systemDefaultZone(), granularity, pinPerTransaction);
+		return () -> Optional.of(AuditClock.now());
 	}
 }
@@ -0,0 +1,114 @@
+package study.datajpa.async;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 비동기 리포지토리 호출(AsyncMemberRepository) 전용 executor
+ * - 기본: 크기 제한 스레드 풀 (threads = 커넥션 풀 크기 정도, queue 가득 차면 RejectedExecutionException)
+ * - datajpa.async.virtual-threads=true 이고 JDK 21 이상이면 가상 스레드 (동시 실행 수는 threads로 제한)
+ *   대기 작업도 queue-capacity 까지만 - 넘으면 admission-timeout 동안 기다렸다가 RejectedExecutionException
+ * 두 경우 모두 컨텍스트 종료 시 shutdown (새 작업 거절, 실행 중인 작업은 마저 실행)
+ */
+@Slf4j
+@Configuration
+public class RepositoryExecutorConfig {
+
+    @Bean
+    public Executor repositoryExecutor(@Value("${datajpa.async.threads:10}") int threads,
+                                       @Value("${datajpa.async.queue-capacity:1000}") int queueCapacity,
+                                       @Value("${datajpa.async.virtual-threads:false}") boolean virtualThreads,
+                                       @Value("${datajpa.async.admission-timeout:0ms}") Duration admissionTimeout) {
+        if (virtualThreads) {
+            ExecutorService virtual = newVirtualThreadPerTaskExecutor();
+            if (virtual != null) {
+                return new BoundedExecutor(virtual, threads, queueCapacity, admissionTimeout);
+            }
+            log.warn("가상 스레드를 지원하지 않는 JDK({}) - 스레드 풀 사용", System.getProperty("java.version"));
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("repository-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    // 소스 레벨은 11 이라서 리플렉션으로 호출 (JDK 21+)
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 가상 스레드는 얼마든지 만들 수 있지만 DB 커넥션은 한정 -> 동시에 실행되는 작업 수 제한
+     * 실행 중 + 대기 중 작업이 permits + queueCapacity 를 넘으면 스레드 풀처럼 거절 (대기 가상 스레드가 끝없이 쌓이지 않음)
+     */
+    static final class BoundedExecutor implements Executor, DisposableBean {
+
+        private final ExecutorService delegate;
+        private final Semaphore running;
+        private final Semaphore admitted;
+        private final long admissionTimeoutNanos;
+
+        BoundedExecutor(ExecutorService delegate, int permits, int queueCapacity, Duration admissionTimeout) {
+            this.delegate = delegate;
+            this.running = new Semaphore(permits);
+            this.admitted = new Semaphore(permits + queueCapacity);
+            this.admissionTimeoutNanos = admissionTimeout.toNanos();
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            // 호출한 스레드에서 거절해야 CompletableFuture.supplyAsync 가 예외를 그대로 던짐
+            if (!tryAdmit()) {
+                throw new RejectedExecutionException("repositoryExecutor 포화 - 실행 중 + 대기 중 작업 수 초과");
+            }
+            try {
+                delegate.execute(() -> {
+                    running.acquireUninterruptibly(); // 대기 수는 admitted 로 제한됨
+                    try {
+                        task.run();
+                    } finally {
+                        running.release();
+                        admitted.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) { // shutdown 이후
+                admitted.release();
+                throw e;
+            }
+        }
+
+        private boolean tryAdmit() {
+            try {
+                return admitted.tryAcquire(admissionTimeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        @Override
+        public void destroy() {
+            delegate.shutdown();
+        }
+    }
+}
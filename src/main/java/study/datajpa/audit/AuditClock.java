@@ -0,0 +1,118 @@
+package study.datajpa.audit;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * 등록일/수정일 시계 - 스프링 auditing(BaseTimeEntity)과 JPA 이벤트(JpaBaseEntity)가 같이 사용
+ * 1) granularity 단위로 캐시된 LocalDateTime 재사용 (엔티티마다 LocalDateTime.now() 하지 않음)
+ * 2) pinPerTransaction 이면 트랜잭션 안에서는 처음 구한 시각을 계속 사용 -> 배치 전체가 같은 시각
+ *    (REQUIRES_NEW 로 바깥 트랜잭션이 보류되면 고정 시각도 같이 보류 -> 안쪽 트랜잭션은 자기 시각 사용)
+ * 테스트에서는 use(Clock.fixed(...)) 로 고정 시계 주입
+ */
+public final class AuditClock {
+
+    private static final Object PIN_KEY = new Object();
+    private static volatile Settings settings = new Settings(Clock.systemDefaultZone(), Duration.ofMillis(1), true);
+    private static volatile Tick tick;
+
+    private AuditClock() {
+    }
+
+    public static void configure(Clock clock, Duration granularity, boolean pinPerTransaction) {
+        settings = new Settings(clock, granularity, pinPerTransaction);
+        tick = null;
+    }
+
+    // 시계를 잠시 바꿈 (테스트용) - close 하면 원래 설정으로
+    public static Restore use(Clock clock) {
+        Settings previous = settings;
+        configure(clock, previous.granularity, previous.pinPerTransaction);
+        return () -> configure(previous.clock, previous.granularity, previous.pinPerTransaction);
+    }
+
+    public static LocalDateTime now() {
+        Settings current = settings;
+        if (current.pinPerTransaction && TransactionSynchronizationManager.isSynchronizationActive()) {
+            LocalDateTime pinned = (LocalDateTime) TransactionSynchronizationManager.getResource(PIN_KEY);
+            if (pinned == null) {
+                pinned = tick(current);
+                TransactionSynchronizationManager.bindResource(PIN_KEY, pinned);
+                TransactionSynchronizationManager.registerSynchronization(new PinSynchronization(pinned));
+            }
+            return pinned;
+        }
+        return tick(current);
+    }
+
+    private static LocalDateTime tick(Settings current) {
+        long bucket = current.clock.millis() / current.granularityMillis;
+        Tick cached = tick;
+        if (cached != null && cached.settings == current && cached.bucket == bucket) {
+            return cached.time;
+        }
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(bucket * current.granularityMillis), current.clock.getZone());
+        tick = new Tick(current, bucket, time);
+        return time;
+    }
+
+    // 트랜잭션이 보류(suspend)되면 고정 시각을 풀었다가 재개(resume)할 때 다시 묶음
+    private static class PinSynchronization implements TransactionSynchronization {
+        private final LocalDateTime pinned;
+
+        private PinSynchronization(LocalDateTime pinned) {
+            this.pinned = pinned;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResourceIfPossible(PIN_KEY);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(PIN_KEY, pinned);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(PIN_KEY);
+        }
+    }
+
+    public interface Restore extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static class Settings {
+        private final Clock clock;
+        private final Duration granularity;
+        private final long granularityMillis;
+        private final boolean pinPerTransaction;
+
+        private Settings(Clock clock, Duration granularity, boolean pinPerTransaction) {
+            this.clock = clock;
+            this.granularity = granularity;
+            this.granularityMillis = Math.max(1, granularity.toMillis());
+            this.pinPerTransaction = pinPerTransaction;
+        }
+    }
+
+    private static class Tick {
+        private final Settings settings;
+        private final long bucket;
+        private final LocalDateTime time;
+
+        private Tick(Settings settings, long bucket, LocalDateTime time) {
+            this.settings = settings;
+            this.bucket = bucket;
+            this.time = time;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package study.datajpa.audit;
+
+import java.util.Optional;
+
+/**
+ * 현재 작업 단위(요청, 배치)의 등록자/수정자
+ * 작업 시작시 한 번만 정해두고, 엔티티마다 호출되는 AuditorAware는 저장된 Optional을 그대로 반환 (새로 만들지 않음)
+ *
+ * try (AuditorContext.Scope scope = AuditorContext.open("batch-user")) {
+ *     memberRepository.saveAllBatched(...);
+ * }
+ */
+public final class AuditorContext {
+
+    public static final String SYSTEM = "system";
+    private static final Optional<String> SYSTEM_AUDITOR = Optional.of(SYSTEM);
+    private static final ThreadLocal<Optional<String>> current = new ThreadLocal<>();
+
+    private AuditorContext() {
+    }
+
+    public static Optional<String> currentAuditor() {
+        Optional<String> auditor = current.get();
+        return auditor != null ? auditor : SYSTEM_AUDITOR; // 요청/배치 밖 (스케줄러, 테스트 등)
+    }
+
+    public static Scope open(String auditor) {
+        Optional<String> previous = current.get();
+        current.set(Optional.of(auditor));
+        return new Scope(previous);
+    }
+
+    public static class Scope implements AutoCloseable {
+        private final Optional<String> previous;
+
+        private Scope(Optional<String> previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package study.datajpa.audit;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 요청마다 등록자/수정자를 한 번만 정함
+ * 실제로는 SpringSecurity 세션 정보에서 ID를 꺼내야 함 - 지금은 인증된 사용자가 없으면 anonymous
+ */
+@Component
+public class AuditorFilter extends OncePerRequestFilter {
+
+    public static final String ANONYMOUS = "anonymous";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String user = request.getRemoteUser();
+        try (AuditorContext.Scope scope = AuditorContext.open(user != null ? user : ANONYMOUS)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
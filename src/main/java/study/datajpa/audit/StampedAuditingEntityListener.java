@@ -0,0 +1,32 @@
+package study.datajpa.audit;
+
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import study.datajpa.entity.BaseTimeEntity;
+
+import javax.persistence.PrePersist;
+
+/**
+ * AuditingEntityListener + 이미 값이 채워진 엔티티는 건너뜀
+ * 대량 저장시 등록자/등록일을 미리 한 번에 채워두면 (BaseEntity.stampCreated) 엔티티마다 auditing 처리를 하지 않음
+ */
+public class StampedAuditingEntityListener extends AuditingEntityListener {
+
+    // 하이버네이트가 스프링 빈으로 리스너를 생성할 때 주입
+    @Override
+    @Autowired
+    public void setAuditingHandler(ObjectFactory<AuditingHandler> auditingHandler) {
+        super.setAuditingHandler(auditingHandler);
+    }
+
+    @Override
+    @PrePersist
+    public void touchForCreate(Object target) {
+        if (target instanceof BaseTimeEntity && ((BaseTimeEntity) target).getCreatedDate() != null) {
+            return; // 이미 stamp 됨
+        }
+        super.touchForCreate(target);
+    }
+}
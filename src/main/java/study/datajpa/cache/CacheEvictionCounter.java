@@ -0,0 +1,34 @@
+package study.datajpa.cache;
+
+import org.ehcache.event.CacheEvent;
+import org.ehcache.event.CacheEventListener;
+import org.ehcache.event.EventType;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 2차 캐시에서 크기 제한(EVICTED), TTL(EXPIRED)로 제거된 횟수
+ * ehcache.xml 에서 생성하는 리스너라서 카운터는 static으로 공유
+ */
+public class CacheEvictionCounter implements CacheEventListener<Object, Object> {
+
+    private static final LongAdder evictions = new LongAdder();
+    private static final LongAdder expirations = new LongAdder();
+
+    @Override
+    public void onEvent(CacheEvent<?, ?> event) {
+        if (event.getType() == EventType.EVICTED) {
+            evictions.increment();
+        } else if (event.getType() == EventType.EXPIRED) {
+            expirations.increment();
+        }
+    }
+
+    public static long evictionCount() {
+        return evictions.sum();
+    }
+
+    public static long expirationCount() {
+        return expirations.sum();
+    }
+}
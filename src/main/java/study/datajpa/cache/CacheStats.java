@@ -0,0 +1,65 @@
+package study.datajpa.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+import study.datajpa.repository.CompiledMemberQueries;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 2차 캐시 / 쿼리 캐시 모니터링용 통계 (hibernate.generate_statistics = true 필요 - monitoring 프로필 또는 datajpa.statistics.enabled=true, 꺼져 있으면 모두 0)
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheStats {
+
+    private final EntityManagerFactory emf;
+    private final CompiledMemberQueries compiledMemberQueries;
+
+    public Map<String, Object> snapshot() {
+        Statistics statistics = statistics();
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            Map<String, Long> counts = new LinkedHashMap<>();
+            counts.put("hit", regionStatistics.getHitCount());
+            counts.put("miss", regionStatistics.getMissCount());
+            counts.put("put", regionStatistics.getPutCount());
+            counts.put("size", regionStatistics.getElementCountInMemory());
+            result.put(region, counts);
+        }
+
+        Map<String, Long> query = new LinkedHashMap<>();
+        query.put("hit", statistics.getQueryCacheHitCount());
+        query.put("miss", statistics.getQueryCacheMissCount());
+        query.put("put", statistics.getQueryCachePutCount());
+        result.put("query", query);
+
+        // 하이버네이트 쿼리 플랜(JPQL -> SQL) 캐시 + 회원 검색용으로 만들어둔 JPQL 수
+        Map<String, Object> plan = new LinkedHashMap<>();
+        plan.put("memberSearchShapes", compiledMemberQueries.shapeCount());
+        plan.put("queryPlanHit", statistics.getQueryPlanCacheHitCount());
+        plan.put("queryPlanMiss", statistics.getQueryPlanCacheMissCount());
+        long planTotal = statistics.getQueryPlanCacheHitCount() + statistics.getQueryPlanCacheMissCount();
+        plan.put("queryPlanHitRate", planTotal == 0 ? 0 : (double) statistics.getQueryPlanCacheHitCount() / planTotal);
+        result.put("plan", plan);
+
+        Map<String, Long> removed = new LinkedHashMap<>();
+        removed.put("evicted", CacheEvictionCounter.evictionCount());
+        removed.put("expired", CacheEvictionCounter.expirationCount());
+        result.put("removed", removed);
+        return result;
+    }
+
+    public Statistics statistics() {
+        return emf.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,23 @@
+package study.datajpa.cache;
+
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+/**
+ * 직렬화까지 끝난 응답 (body bytes + ETag) - 캐시 히트시 쿼리, 직렬화 모두 건너뜀
+ */
+@Getter
+public class CachedResponse {
+
+    private final byte[] body;
+    private final MediaType contentType;
+    private final String etag;
+    private final long cachedAt;
+
+    public CachedResponse(byte[] body, MediaType contentType, String etag) {
+        this.body = body;
+        this.contentType = contentType;
+        this.etag = etag;
+        this.cachedAt = System.nanoTime();
+    }
+}
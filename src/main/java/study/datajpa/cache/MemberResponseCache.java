@@ -0,0 +1,183 @@
+package study.datajpa.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * MemberController 조회 응답 캐시 (키: 경로 + 응답에 영향을 주는 쿼리 파라미터(page, size, sort, count)만)
+ * - 최대 maxEntries 개, 가장 오래 사용하지 않은 응답부터 제거 (LRU)
+ * - Member/Team 저장, 수정, 삭제시 커밋 후 전체 무효화 (MemberResponseCacheInvalidator)
+ * - 벌크 수정(@Modifying, JDBC)은 엔티티 이벤트가 없어서 TTL로 만료
+ * - ETag는 단건: id + @Version 기반 (수정 시각은 같은 ms, 트랜잭션 고정 시각이면 겹칠 수 있음), 목록: 응답 내용 기반 -> If-None-Match 일치하면 304
+ */
+@Component
+public class MemberResponseCache {
+
+    private static final String INVALIDATION_KEY = MemberResponseCache.class.getName() + ".invalidation";
+    private static final List<String> KEY_PARAMETERS = Arrays.asList("page", "size", "sort", "count"); // 그 외 파라미터는 응답과 무관 -> 키에서 제외
+
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    private final Map<String, CachedResponse> cache; // LRU - 접근할 때는 synchronized (cache)
+    private final AtomicLong generation = new AtomicLong(); // 무효화할 때마다 증가 - 무효화 전에 조회한 응답은 넣지 않음
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public MemberResponseCache(ObjectMapper objectMapper,
+                               @Value("${datajpa.response-cache.ttl:30s}") Duration ttl,
+                               @Value("${datajpa.response-cache.max-entries:1000}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.cache = new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) { // accessOrder: get 하면 가장 최근으로
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries || isExpired(eldest.getValue()); // 넣을 때마다 가장 오래된 응답이 만료됐으면 같이 정리
+            }
+        };
+    }
+
+    public Optional<CachedResponse> get(HttpServletRequest request) {
+        String key = key(request);
+        CachedResponse cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+            if (cached != null && isExpired(cached)) {
+                cache.remove(key);
+                cached = null;
+            }
+        }
+        if (cached == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(cached);
+    }
+
+    /**
+     * 캐시 미스일 때 컨트롤러에서 호출 - loader로 응답을 만들어 캐시에 넣고 반환
+     * ETag가 붙은 ResponseEntity라서 If-None-Match가 일치하면 스프링이 304로 바꿔줌
+     */
+    public ResponseEntity<byte[]> respond(HttpServletRequest request, Supplier<CachedResponse> loader) {
+        long loadedGeneration = generation.get();
+        CachedResponse response = loader.get();
+        String key = key(request);
+        synchronized (cache) {
+            if (generation.get() == loadedGeneration) { // 조회하는 동안 무효화됐으면 넣지 않음
+                cache.put(key, response); // maxEntries 를 넘으면 가장 오래 사용하지 않은 응답 제거
+            }
+        }
+        return ResponseEntity.ok()
+                .contentType(response.getContentType())
+                .eTag(response.getEtag())
+                .body(response.getBody());
+    }
+
+    public CachedResponse text(String body, String etag) {
+        return new CachedResponse(body.getBytes(StandardCharsets.UTF_8),
+                new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8), etag);
+    }
+
+    // 목록은 lastModifiedDate를 조회하지 않음 -> 직렬화한 내용(목록 + totalElements)으로 만든 약한 ETag
+    public CachedResponse json(Object body) {
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("응답 직렬화 실패", e);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return new CachedResponse(bytes, MediaType.APPLICATION_JSON, "W/\"" + bytes.length + "-" + Long.toHexString(crc.getValue()) + "\"");
+    }
+
+    public void invalidate() {
+        synchronized (cache) {
+            generation.incrementAndGet();
+            cache.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    // 트랜잭션 안이면 커밋 후 한 번만 무효화 (롤백되면 바뀐 게 없음)
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(INVALIDATION_KEY)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(INVALIDATION_KEY, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(INVALIDATION_KEY);
+            }
+        });
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public static String etag(Long id, Long version) {
+        return "\"" + id + "-" + (version == null ? 0 : version) + "\"";
+    }
+
+    private boolean isExpired(CachedResponse cached) {
+        return System.nanoTime() - cached.getCachedAt() >= ttl.toNanos();
+    }
+
+    // KEY_PARAMETERS 만 정해진 순서로 -> 파라미터 순서가 다르거나 관계없는 파라미터가 붙어도 같은 키
+    private static String key(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        char separator = '?';
+        for (String name : KEY_PARAMETERS) {
+            String[] values = request.getParameterValues(name);
+            if (values == null) {
+                continue;
+            }
+            for (String value : values) {
+                key.append(separator).append(name).append('=').append(value);
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package study.datajpa.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Optional;
+
+/**
+ * 캐시 히트면 컨트롤러 호출 전에 바로 응답
+ * 파라미터 바인딩(도메인 클래스 컨버터), 트랜잭션 시작, 쿼리, 직렬화 모두 건너뜀
+ */
+@RequiredArgsConstructor
+public class MemberResponseCacheInterceptor implements HandlerInterceptor {
+
+    private final MemberResponseCache memberResponseCache;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        Optional<CachedResponse> cached = memberResponseCache.get(request);
+        if (cached.isEmpty()) {
+            return true; // 컨트롤러에서 조회 후 캐시에 넣음
+        }
+        CachedResponse cachedResponse = cached.get();
+        if (new ServletWebRequest(request, response).checkNotModified(cachedResponse.getEtag())) {
+            return false; // 304 + ETag
+        }
+        response.setHeader("ETag", cachedResponse.getEtag());
+        response.setContentType(cachedResponse.getContentType().toString());
+        response.setContentLength(cachedResponse.getBody().length);
+        response.getOutputStream().write(cachedResponse.getBody());
+        return false;
+    }
+}
@@ -0,0 +1,42 @@
+package study.datajpa.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.PageCountSupport;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Member, Team 엔티티 리스너 - 저장/수정/삭제되면 커밋 후 응답 캐시 무효화
+ * Member 가 바뀌면 페이지 count 캐시(PageCountSupport)도 커밋 후 무효화
+ */
+public class MemberResponseCacheInvalidator {
+
+    private MemberResponseCache memberResponseCache;
+    private PageCountSupport pageCountSupport;
+
+    // 하이버네이트가 스프링 빈으로 리스너를 생성할 때 주입
+    @Autowired
+    public void setMemberResponseCache(MemberResponseCache memberResponseCache) {
+        this.memberResponseCache = memberResponseCache;
+    }
+
+    @Autowired
+    public void setPageCountSupport(PageCountSupport pageCountSupport) {
+        this.pageCountSupport = pageCountSupport;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void invalidate(Object entity) {
+        if (memberResponseCache != null) {
+            memberResponseCache.invalidateAfterCommit();
+        }
+        if (pageCountSupport != null && entity instanceof Member) {
+            pageCountSupport.evictAllAfterCommit();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package study.datajpa.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class ResponseCacheConfig implements WebMvcConfigurer {
+
+    private final MemberResponseCache memberResponseCache;
+
+    // /members, /members/{id}, /members2/{id} 만 캐시 (검색, 무한 스크롤, 커서, 내보내기는 X)
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new MemberResponseCacheInterceptor(memberResponseCache))
+                .addPathPatterns("/members", "/members/*", "/members2/*")
+                .excludePathPatterns("/members/search", "/members/slice", "/members/cursor", "/members/export");
+    }
+}
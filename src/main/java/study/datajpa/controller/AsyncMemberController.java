@@ -0,0 +1,39 @@
+package study.datajpa.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.repository.AsyncMemberRepository;
+import study.datajpa.repository.CountStrategy;
+
+import java.util.concurrent.CompletableFuture;
+
+// 비동기 모드 - CompletableFuture 반환: DB 조회하는 동안 톰캣 스레드는 다른 요청 처리
+@RestController
+@RequiredArgsConstructor
+public class AsyncMemberController {
+    private final AsyncMemberRepository asyncMemberRepository;
+
+    @GetMapping("/async/members/{id}")
+    public CompletableFuture<ResponseEntity<String>> findMember(@PathVariable("id") Long id){
+        return asyncMemberRepository.findByIdAsync(id)
+                .thenApply(member -> member
+                        .map(m -> ResponseEntity.ok(m.getUsername()))
+                        .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+
+    @GetMapping("/async/members")
+    public CompletableFuture<Page<MemberDto>> list(@PageableDefault(size=12, sort = "username", direction = Sort.Direction.DESC) Pageable pageable,
+                                                   @RequestParam(value = "count", defaultValue = "EXACT") CountStrategy countStrategy){
+        return asyncMemberRepository.findAllAsync(pageable, countStrategy)
+                .thenApply(page -> page.map(MemberDto::new));
+    }
+}
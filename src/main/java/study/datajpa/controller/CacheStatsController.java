@@ -0,0 +1,20 @@
+package study.datajpa.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.datajpa.cache.CacheStats;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class CacheStatsController {
+    private final CacheStats cacheStats;
+
+    // 2차 캐시 region별 hit/miss/put/size + 쿼리 캐시 + 제거 횟수
+    @GetMapping("/cache/stats")
+    public Map<String, Object> stats(){
+        return cacheStats.snapshot();
+    }
+}
@@ -1,44 +1,175 @@
 package study.datajpa.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import study.datajpa.cache.MemberResponseCache;
+import study.datajpa.dto.CursorPage;
 import study.datajpa.dto.MemberDto;
+import study.datajpa.dto.SliceResponse;
 import study.datajpa.entity.Member;
+import study.datajpa.repository.CountStrategy;
+import study.datajpa.repository.MemberCursor;
 import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.MemberSearchCondition;
+import study.datajpa.repository.MemberSummary;
 
 import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
+    private static final int MAX_CURSOR_PAGE_SIZE = 2000;
+
     private final MemberRepository memberRepository;
+    private final ObjectMapper objectMapper;
+    private final MemberResponseCache memberResponseCache;
 
-    // 도메인 클래스 컨버터
     // 파라미터 : id
+    // 엔티티 대신 필요한 컬럼만 Projection으로 조회, 없으면 404
+    // 응답 캐시 - 히트면 MemberResponseCacheInterceptor가 바로 응답 (여기까지 오지 않음)
     @GetMapping("/members/{id}")
-    public String findMember(@PathVariable("id") Long id){
-        Member member = memberRepository.findById(id).get();
-        return member.getUsername();
+    public ResponseEntity<byte[]> findMember(@PathVariable("id") Long id, HttpServletRequest request){
+        return memberResponseCache.respond(request, () -> {
+            MemberSummary member = memberRepository.findProjectedById(id, MemberSummary.class)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "회원이 없습니다. id=" + id));
+            return memberResponseCache.text(member.getUsername(), MemberResponseCache.etag(member.getId(), member.getVersion()));
+        });
     }
 
-    // 파라미터 : Member 객체
+    // 파라미터 : Projection 객체
+    // 도메인 클래스 컨버터(@PathVariable("id") Member member)는 엔티티 전체를 조회 -> @ProjectedMember로 필요한 컬럼만 바인딩
     @GetMapping("/members2/{id}")
-    public String findMember2(@PathVariable("id") Member member){ // 도메인 클래스 컨버터
-        return member.getUsername();
+    public ResponseEntity<byte[]> findMember2(@ProjectedMember("id") MemberSummary member, HttpServletRequest request){
+        return memberResponseCache.respond(request, () ->
+                memberResponseCache.text(member.getUsername(), MemberResponseCache.etag(member.getId(), member.getVersion())));
     }
 
     // 페이징과 정렬
     @GetMapping("/members")
-    public Page<MemberDto> list(@PageableDefault(size=12, sort = "username", direction = Sort.Direction.DESC) Pageable pageable){
-        Page<Member> page = memberRepository.findAll(pageable);// 모든 함수 pagable 파라미터 넘겨주면 페이징
-        Page<MemberDto> map = page.map(MemberDto::new); // Dto로 변환한 뒤 반환
-        return map;
+    public ResponseEntity<byte[]> list(@PageableDefault(size=12, sort = "username", direction = Sort.Direction.DESC) Pageable pageable,
+                                       @RequestParam(value = "count", defaultValue = "EXACT") CountStrategy countStrategy,
+                                       HttpServletRequest request){
+        return memberResponseCache.respond(request, () -> {
+            // 엔티티 조회 후 Dto로 변환하지 않고 Dto로 바로 조회 (팀 이름 포함), count 전략은 호출마다 선택
+            Page<MemberDto> page = memberRepository.findDtoAll(pageable, countStrategy);
+            return memberResponseCache.json(page); // ETag는 응답 내용 기반
+        });
+    }
+
+    // 무한 스크롤 (Slice) - count 쿼리 없이 hasNext만, 엔티티 대신 DTO로 바로 조회
+    @GetMapping("/members/slice")
+    public SliceResponse<MemberDto> listBySlice(@RequestParam("age") int age,
+                                                @PageableDefault(size = 12, sort = "username", direction = Sort.Direction.DESC) Pageable pageable){
+        return SliceResponse.of(memberRepository.findSliceDtoByAge(age, pageable));
+    }
+
+    // 회원 검색 - 쿼리 파라미터(username, usernamePrefix, ageGoe, ageLoe, teamName) 중 값이 있는 조건만 조합
+    @GetMapping("/members/search")
+    public Page<MemberDto> search(MemberSearchCondition condition,
+                                  @PageableDefault(size = 12, sort = "username", direction = Sort.Direction.DESC) Pageable pageable){
+        return memberRepository.search(condition, pageable) // 조건 조합별로 만들어둔 JPQL (MemberSpec.of 와 같은 조건)
+                .map(MemberDto::new);
+    }
+
+    // 커서(키셋) 페이징 - offset, count 쿼리 없이 nextCursor로 다음 페이지 요청
+    // size는 1 ~ MAX_CURSOR_PAGE_SIZE (넘으면 최대값으로, 스프링 데이터 Pageable과 같은 상한), 잘못된 커서는 400
+    @GetMapping("/members/cursor")
+    public CursorPage<MemberDto> listByCursor(@RequestParam(value = "cursor", required = false) String cursor,
+                                              @RequestParam(value = "size", defaultValue = "12") int size){
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size는 1 이상이어야 합니다: " + size);
+        }
+        MemberCursor memberCursor;
+        try {
+            memberCursor = cursor == null ? null : MemberCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 커서", e);
+        }
+        Slice<Member> slice = memberRepository.findByCursor(memberCursor, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            Member last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            nextCursor = new MemberCursor(last.getUsername(), last.getId()).encode();
+        }
+        return new CursorPage<>(slice.map(MemberDto::new).getContent(), nextCursor, slice.hasNext());
+    }
+
+    // 회원 전체 내보내기 - List로 모으지 않고 조회하면서 바로 응답에 씀 (format: ndjson | csv)
+    @GetMapping("/members/export")
+    public void export(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                       HttpServletResponse response) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "지원하지 않는 format: " + format);
+            return;
+        }
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        // 트랜잭션은 forEachMember 안에서만 (컨트롤러 전체에 두면 응답 직렬화 동안에도 커넥션을 잡고 있음)
+        if (csv) {
+            writer.write("id,username,age\n");
+            memberRepository.forEachMember(1000, member -> writeCsv(writer, member));
+        } else {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+            generator.setRootValueSeparator(null); // 구분자는 writeJson에서 줄바꿈으로
+            memberRepository.forEachMember(1000, member -> writeJson(generator, member));
+            generator.flush();
+        }
+        writer.flush();
+    }
+
+    private void writeCsv(Writer writer, Member member) {
+        try {
+            writer.write(member.getId() + "," + csvValue(member.getUsername()) + "," + member.getAge() + "\n");
+        } catch (IOException e) {
+            throw new IllegalStateException("회원 내보내기 실패", e);
+        }
+    }
+
+    private static String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private void writeJson(JsonGenerator generator, Member member) {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("id", member.getId());
+            generator.writeStringField("username", member.getUsername());
+            generator.writeNumberField("age", member.getAge());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new IllegalStateException("회원 내보내기 실패", e);
+        }
     }
 
 //    @PostConstruct
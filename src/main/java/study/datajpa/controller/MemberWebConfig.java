@@ -0,0 +1,21 @@
+package study.datajpa.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class MemberWebConfig implements WebMvcConfigurer {
+
+    private final MemberRepository memberRepository;
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new ProjectedMemberArgumentResolver(memberRepository));
+    }
+}
@@ -0,0 +1,18 @@
+package study.datajpa.controller;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 경로 변수(회원 id)를 엔티티 대신 Projection(닫힌 인터페이스, DTO)으로 바로 바인딩
+ * 도메인 클래스 컨버터와 달리 필요한 컬럼만 조회, 없는 id는 404
+ * ex) @ProjectedMember("id") MemberSummary member
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ProjectedMember {
+    // 경로 변수 이름
+    String value();
+}
@@ -0,0 +1,52 @@
+package study.datajpa.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerMapping;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.Map;
+
+/**
+ * @ProjectedMember 파라미터 처리 - MemberRepository.findProjectedById(id, 파라미터 타입)
+ * 컨버터(Converter)에서 던진 예외는 400(타입 불일치)으로 바뀌어서 ArgumentResolver로 구현 -> 없는 id는 404
+ */
+@RequiredArgsConstructor
+public class ProjectedMemberArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final MemberRepository memberRepository;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(ProjectedMember.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        String name = parameter.getParameterAnnotation(ProjectedMember.class).value();
+        Map<String, String> uriVariables = (Map<String, String>) webRequest.getAttribute(
+                HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        String value = uriVariables == null ? null : uriVariables.get(name);
+        if (value == null) {
+            throw new IllegalStateException("경로 변수가 없습니다: " + name);
+        }
+
+        Long id;
+        try {
+            id = Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 회원 id: " + value);
+        }
+        return memberRepository.findProjectedById(id, parameter.getParameterType())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "회원이 없습니다. id=" + id));
+    }
+}
@@ -0,0 +1,59 @@
+package study.datajpa.datasource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * datajpa.datasource.routing-enabled=true 일 때만 읽기/쓰기 분리 DataSource 등록
+ * primary: spring.datasource.*, replica: datajpa.datasource.replicas[n].*
+ */
+@Configuration
+@ConditionalOnProperty(name = "datajpa.datasource.routing-enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties primaryProperties,
+                                 ReplicaDataSourceProperties replicaProperties,
+                                 ObjectProvider<ReplicaLoadBalancer> loadBalancer,
+                                 ObjectProvider<ReplicaLagProvider> lagProvider) {
+        DataSource primary = primaryProperties.initializeDataSourceBuilder().build();
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (ReplicaDataSourceProperties.Replica replica : replicaProperties.getReplicas()) {
+            replicas.add(DataSourceBuilder.create()
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build());
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas,
+                loadBalancer.getIfAvailable(() -> defaultLoadBalancer(replicaProperties.getLoadBalancer())),
+                lagProvider.getIfAvailable(() -> ReplicaLagProvider.NONE),
+                replicaProperties.getMaxLag());
+        // 실제 커넥션은 첫 쿼리 때 가져옴 -> 그 시점에는 트랜잭션 readOnly 여부가 정해져 있음
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private static ReplicaLoadBalancer defaultLoadBalancer(String name) {
+        switch (name) {
+            case "round-robin":
+                return ReplicaLoadBalancer.roundRobin();
+            case "random":
+                return ReplicaLoadBalancer.random();
+            default:
+                throw new IllegalArgumentException("지원하지 않는 load-balancer: " + name);
+        }
+    }
+}
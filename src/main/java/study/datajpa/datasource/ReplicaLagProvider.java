@@ -0,0 +1,15 @@
+package study.datajpa.datasource;
+
+import java.time.Duration;
+
+/**
+ * replica의 현재 복제 지연 - maxLag 보다 크면 읽기 대상에서 빠지고, 모두 빠지면 primary에서 읽음
+ * (DB별로 구현: MySQL Seconds_Behind_Master, PostgreSQL pg_last_xact_replay_timestamp 등)
+ */
+@FunctionalInterface
+public interface ReplicaLagProvider {
+
+    ReplicaLagProvider NONE = replicaKey -> Duration.ZERO;
+
+    Duration currentLag(String replicaKey);
+}
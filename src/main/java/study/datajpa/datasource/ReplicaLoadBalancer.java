@@ -0,0 +1,22 @@
+package study.datajpa.datasource;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 읽기 요청을 보낼 replica 선택 (candidates: 지연이 허용 범위인 replica key, 1개 이상)
+ */
+public interface ReplicaLoadBalancer {
+
+    String choose(List<String> candidates);
+
+    static ReplicaLoadBalancer roundRobin() {
+        AtomicInteger next = new AtomicInteger();
+        return candidates -> candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    static ReplicaLoadBalancer random() {
+        return candidates -> candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+    }
+}
@@ -0,0 +1,61 @@
+package study.datajpa.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @Transactional(readOnly = true) 이면 replica, 나머지는 primary로 보내는 DataSource
+ * 트랜잭션 시작 후에 커넥션을 가져와야 readOnly 여부를 알 수 있으므로 LazyConnectionDataSourceProxy로 감싸서 사용
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final ReplicaLoadBalancer loadBalancer;
+    private final ReplicaLagProvider lagProvider;
+    private final Duration maxLag;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                    ReplicaLoadBalancer loadBalancer, ReplicaLagProvider lagProvider, Duration maxLag) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            replicaKeys.add(key);
+            targets.put(key, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        this.loadBalancer = loadBalancer;
+        this.lagProvider = lagProvider;
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        List<String> candidates = new ArrayList<>(replicaKeys.size());
+        for (String key : replicaKeys) {
+            if (lagProvider.currentLag(key).compareTo(maxLag) <= 0) {
+                candidates.add(key);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return PRIMARY; // 모든 replica가 너무 뒤처져 있으면 primary에서 읽음
+        }
+        return loadBalancer.choose(candidates);
+    }
+}
@@ -0,0 +1,15 @@
+package study.datajpa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 커서 기반 페이징 응답 - totalCount 없음, 다음 페이지 요청시 nextCursor를 그대로 넘겨주면 됨
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor; // 마지막 페이지면 null
+    private boolean hasNext;
+}
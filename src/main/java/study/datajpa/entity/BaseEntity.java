@@ -5,14 +5,15 @@ import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import study.datajpa.audit.StampedAuditingEntityListener;
 
 import javax.persistence.Column;
 import javax.persistence.EntityListeners;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.Version;
 import java.time.LocalDateTime;
 
-@EntityListeners(AuditingEntityListener.class)// 이벤트를 기반으로 동작함
+@EntityListeners(StampedAuditingEntityListener.class)// 이벤트를 기반으로 동작함
 @MappedSuperclass
 @Getter
 public class BaseEntity extends BaseTimeEntity{
@@ -24,4 +25,15 @@ public class BaseEntity extends BaseTimeEntity{
 
     @LastModifiedBy
     private String lastModifiedBy;
+
+    // 낙관적 락 - 수정시 where version = ? 조건, 다른 트랜잭션이 먼저 수정했으면 OptimisticLockException
+    @Version
+    private Long version;
+
+    // 대량 저장시 등록자/등록일을 한 번에 채움 -> persist 할 때 auditing 리스너는 건너뜀
+    public void stampCreated(String auditor, LocalDateTime now) {
+        stampCreatedDate(now);
+        this.createdBy = auditor;
+        this.lastModifiedBy = auditor;
+    }
 }
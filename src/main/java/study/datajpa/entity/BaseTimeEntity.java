@@ -3,14 +3,14 @@ package study.datajpa.entity;
 import lombok.Getter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import study.datajpa.audit.StampedAuditingEntityListener;
 
 import javax.persistence.Column;
 import javax.persistence.EntityListeners;
 import javax.persistence.MappedSuperclass;
 import java.time.LocalDateTime;
 
-@EntityListeners(AuditingEntityListener.class)// 이벤트를 기반으로 동작함
+@EntityListeners(StampedAuditingEntityListener.class)// 이벤트를 기반으로 동작함 (AuditingEntityListener + 미리 채운 값은 건너뜀)
 @MappedSuperclass
 @Getter
 public class BaseTimeEntity {
@@ -21,4 +21,10 @@ public class BaseTimeEntity {
 
     @LastModifiedDate
     private LocalDateTime lastModifiedDate;
+
+    // 대량 저장용 - 같은 배치는 같은 시각으로 한 번에 채움
+    protected void stampCreatedDate(LocalDateTime now) {
+        this.createdDate = now;
+        this.lastModifiedDate = now;
+    }
 }
@@ -1,6 +1,7 @@
 package study.datajpa.entity;
 
 import lombok.Getter;
+import study.datajpa.audit.AuditClock;
 
 import javax.persistence.Column;
 import javax.persistence.MappedSuperclass;
@@ -18,13 +19,13 @@ public class JpaBaseEntity {
 
     @PrePersist // persist하기 전에 이벤트가 발생
     public void prePersist(){
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = AuditClock.now();
         createdDate = now;
         updatedDate = now;
     }
 
     @PreUpdate
     public void preUpdate(){
-        updatedDate = LocalDateTime.now();
+        updatedDate = AuditClock.now();
     }
 }
@@ -1,6 +1,9 @@
 package study.datajpa.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import study.datajpa.cache.MemberResponseCacheInvalidator;
 import org.springframework.context.annotation.EnableMBeanExport;
 
 import javax.persistence.*;
@@ -14,15 +17,26 @@ import javax.persistence.*;
         query = "select m from Member m where m.username = :username"
 )
 @NamedEntityGraph(name = "Member.all", attributeNodes = @NamedAttributeNode("team"))
+@Table(indexes = {
+        @Index(name = "idx_member_username_id", columnList = "username, member_id"), // 키셋 페이징(username desc, id desc), username 검색용 인덱스
+        @Index(name = "idx_member_age", columnList = "age") // 나이 범위 검색용 인덱스
+})
+@EntityListeners(MemberResponseCacheInvalidator.class) // 저장/수정/삭제시 MemberController 응답 캐시 무효화
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // 2차 캐시 - 쿼리 캐시(id 목록)로 조회한 회원을 DB 대신 캐시에서 꺼내기 위함
+@SequenceGenerator(
+        name = "member_seq_generator",
+        sequenceName = "member_seq",
+        allocationSize = 50 // pooled optimizer: 시퀀스 1번 호출로 id 50개 확보 (persist 마다 시퀀스 조회 X)
+)
 public class Member extends BaseEntity {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
     @Column(name = "member_id")
     private Long id;
     private String username;
     private int age;
 
-    @ManyToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY) // 프록시 초기화시 hibernate.default_batch_fetch_size 만큼 IN 절로 같이 조회
     @JoinColumn(name = "team_id")
     private Team team;
 
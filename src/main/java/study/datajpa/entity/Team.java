@@ -2,6 +2,9 @@ package study.datajpa.entity;
 
 import com.fasterxml.jackson.annotation.JsonAnySetter;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import study.datajpa.cache.MemberResponseCacheInvalidator;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -12,14 +15,22 @@ import java.util.List;
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"})
+@Table(indexes = @Index(name = "idx_team_name", columnList = "name")) // 팀 이름 검색용 인덱스
+@EntityListeners(MemberResponseCacheInvalidator.class) // 저장/수정/삭제시 MemberController 응답 캐시 무효화
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // 2차 캐시 - 팀은 거의 변경되지 않음. 저장/수정/삭제시 하이버네이트가 캐시도 같이 갱신(READ_WRITE)
+@SequenceGenerator(
+        name = "team_seq_generator",
+        sequenceName = "team_seq",
+        allocationSize = 50
+)
 public class Team extends BaseEntity{
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_seq_generator")
     @Column(name = "team_id")
     private Long id;
     private String name;
 
-    @OneToMany(mappedBy = "team")
+    @OneToMany(mappedBy = "team") // 초기화시 hibernate.default_batch_fetch_size 만큼 다른 팀의 members도 IN 절로 같이 조회
     private List<Member> members = new ArrayList<>();
 
     // 생성자
@@ -0,0 +1,45 @@
+package study.datajpa.repository;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import study.datajpa.entity.Member;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * MemberRepository 주요 조회의 비동기 버전 - repositoryExecutor에서 실행하고 호출한 스레드는 바로 반환
+ * WARN) 결과 엔티티는 준영속 상태 (트랜잭션은 작업 스레드에서 끝남) - 지연 로딩(team) 사용 불가, DTO로 변환해서 사용
+ */
+@Component
+public class AsyncMemberRepository {
+
+    private final MemberRepository memberRepository;
+    private final Executor executor;
+
+    public AsyncMemberRepository(MemberRepository memberRepository,
+                                 @Qualifier("repositoryExecutor") Executor executor) {
+        this.memberRepository = memberRepository;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Optional<Member>> findByIdAsync(Long id) {
+        return CompletableFuture.supplyAsync(() -> memberRepository.findById(id), executor);
+    }
+
+    public CompletableFuture<List<Member>> findByUsernameAsync(String username) {
+        return CompletableFuture.supplyAsync(() -> memberRepository.findByUsername(username), executor);
+    }
+
+    public CompletableFuture<Page<Member>> findAllAsync(Pageable pageable, CountStrategy countStrategy) {
+        return CompletableFuture.supplyAsync(() -> memberRepository.findAll(pageable, countStrategy), executor);
+    }
+
+    public CompletableFuture<Page<Member>> findPageByAgeAsync(int age, Pageable pageable) {
+        return CompletableFuture.supplyAsync(() -> memberRepository.findPageByAge(age, pageable), executor);
+    }
+}
@@ -0,0 +1,24 @@
+package study.datajpa.repository;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 청크 단위 벌크 수정 진행 상황 - 청크 하나가 커밋될 때마다 전달됨
+ * 실패하면 마지막으로 받은 lastId 다음부터 다시 실행하면 됨 (resumeAfterId)
+ */
+@Getter
+@ToString
+public class BulkUpdateProgress {
+    private final long lastId;        // 커밋 완료된 id 범위의 끝 (포함)
+    private final long maxId;         // 처리 대상 마지막 id
+    private final int updatedInChunk; // 이번 청크에서 수정된 row 수
+    private final long totalUpdated;  // 지금까지 수정된 row 수
+
+    public BulkUpdateProgress(long lastId, long maxId, int updatedInChunk, long totalUpdated) {
+        this.lastId = lastId;
+        this.maxId = maxId;
+        this.updatedInChunk = updatedInChunk;
+        this.totalUpdated = totalUpdated;
+    }
+}
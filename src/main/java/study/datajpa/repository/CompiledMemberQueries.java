@@ -0,0 +1,113 @@
+package study.datajpa.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import study.datajpa.entity.Member;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * MemberSpec 검색을 조건 조합(어떤 조건에 값이 있는지)별로 JPQL 한 번만 만들어두고 파라미터만 바인딩
+ * Specification(Criteria)은 호출마다 트리 생성 -> JPQL 렌더링 -> 파싱을 반복하지만,
+ * 같은 JPQL 문자열은 하이버네이트 쿼리 플랜 캐시에서 SQL 변환 결과를 재사용함
+ * (재사용 여부는 /cache/stats 의 queryPlanHit/queryPlanMiss - 하이버네이트 통계)
+ * 조건, 순서는 MemberSearchField 하나로 MemberSpec.of 와 공유
+ */
+@Component
+public class CompiledMemberQueries {
+
+    private static final int TEAM_SORT = 1 << 30; // 조건에 팀이 없어도 team.* 정렬이면 left join
+
+    private final ConcurrentMap<Integer, String> jpqlByShape = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, String> countJpqlByShape = new ConcurrentHashMap<>();
+
+    public TypedQuery<Member> create(EntityManager em, MemberSearchCondition condition) {
+        return create(em, condition, Sort.unsorted());
+    }
+
+    // 정렬은 조건 조합이 아니라 요청마다 다를 수 있으므로 만들어둔 JPQL 뒤에 붙임
+    public TypedQuery<Member> create(EntityManager em, MemberSearchCondition condition, Sort sort) {
+        int shape = shapeOf(condition);
+        if (MemberOrderBy.joinsTeam(sort)) {
+            shape |= TEAM_SORT;
+        }
+        String jpql = jpqlByShape.computeIfAbsent(shape, CompiledMemberQueries::render);
+        return bind(em.createQuery(jpql + MemberOrderBy.of(sort), Member.class), condition);
+    }
+
+    // 페이징용 count 쿼리 - 조건 조합별로 한 번만 만듦
+    public TypedQuery<Long> count(EntityManager em, MemberSearchCondition condition) {
+        String jpql = countJpqlByShape.computeIfAbsent(shapeOf(condition), CompiledMemberQueries::renderCount);
+        return bind(em.createQuery(jpql, Long.class), condition);
+    }
+
+    // 만들어둔 조건 조합(JPQL) 수
+    public int shapeCount() {
+        return jpqlByShape.size() + countJpqlByShape.size();
+    }
+
+    private static <T> TypedQuery<T> bind(TypedQuery<T> query, MemberSearchCondition condition) {
+        for (MemberSearchField field : MemberSearchField.values()) {
+            if (field.isPresent(condition)) {
+                query.setParameter(field.parameter(), field.value(condition));
+            }
+        }
+        return query;
+    }
+
+    private static int shapeOf(MemberSearchCondition condition) {
+        int shape = 0;
+        for (MemberSearchField field : MemberSearchField.values()) {
+            if (field.isPresent(condition)) {
+                shape |= 1 << field.ordinal();
+            }
+        }
+        return shape;
+    }
+
+    private static boolean has(int shape, MemberSearchField field) {
+        return (shape & (1 << field.ordinal())) != 0;
+    }
+
+    // 조건 중 team 별칭(t)을 쓰는 것이 있으면 내부 조인 (어떤 조건인지는 MemberSearchField.needsTeamJoin)
+    private static boolean needsTeamJoin(int shape) {
+        for (MemberSearchField field : MemberSearchField.values()) {
+            if (has(shape, field) && field.needsTeamJoin()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String render(int shape) {
+        StringBuilder jpql = new StringBuilder("select m from Member m");
+        if (needsTeamJoin(shape)) {
+            jpql.append(" join m.team t");
+        } else if ((shape & TEAM_SORT) != 0) {
+            jpql.append(" left join m.team t"); // 정렬만을 위한 조인 - 팀 없는 회원도 포함
+        }
+        return appendWhere(jpql, shape).toString();
+    }
+
+    private static String renderCount(int shape) {
+        StringBuilder jpql = new StringBuilder("select count(m) from Member m");
+        if (needsTeamJoin(shape)) {
+            jpql.append(" join m.team t");
+        }
+        return appendWhere(jpql, shape).toString();
+    }
+
+    private static StringBuilder appendWhere(StringBuilder jpql, int shape) {
+        String prefix = " where ";
+        for (MemberSearchField field : MemberSearchField.values()) {
+            if (has(shape, field)) {
+                jpql.append(prefix).append(field.jpql());
+                prefix = " and ";
+            }
+        }
+        return jpql;
+    }
+}
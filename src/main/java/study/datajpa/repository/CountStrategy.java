@@ -0,0 +1,10 @@
+package study.datajpa.repository;
+
+/**
+ * Page 조회시 totalCount를 어떻게 구할지 선택
+ */
+public enum CountStrategy {
+    EXACT,          // 정확한 count - 첫 페이지인데 size보다 적게 조회됐거나, 마지막 페이지면 count 쿼리 생략 (스프링 데이터 기본 동작)
+    CACHED,         // EXACT + 조건별 count 결과를 TTL 동안 캐시
+    ESTIMATED       // EXACT + DB 통계의 예상 row 수 사용 (정확하지 않음)
+}
@@ -0,0 +1,11 @@
+package study.datajpa.repository;
+
+import study.datajpa.entity.Item;
+
+import java.util.Collection;
+
+public interface ItemRepositoryCustom {
+    // 대량 upsert - merge(select 후 insert) 없이 batchSize 단위 batch 문장으로 저장, 이미 있는 id는 그대로 둠
+    // 반환: 새로 insert 된 row 수 (이미 있어서 건너뛴 id는 포함 X)
+    int upsertAll(Collection<Item> items, int batchSize);
+}
@@ -0,0 +1,70 @@
+package study.datajpa.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.audit.AuditClock;
+import study.datajpa.entity.Item;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collection;
+
+@RequiredArgsConstructor
+public class ItemRepositoryImpl implements ItemRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String upsertSql;
+
+    @Override
+    @Transactional
+    public int upsertAll(Collection<Item> items, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize는 1 이상이어야 합니다: " + batchSize);
+        }
+        if (items.isEmpty()) {
+            return 0;
+        }
+        // JPA save()는 isNew() == false 이면 merge -> row 마다 select 발생
+        // JDBC batch로 DB의 upsert 문장을 바로 실행 (영속성 컨텍스트는 거치지 않음)
+        Timestamp now = Timestamp.valueOf(AuditClock.now()); // 한 번의 upsert는 같은 생성일
+        int[][] counts = jdbcTemplate.batchUpdate(upsertSql(), items, batchSize, (ps, item) -> {
+            ps.setString(1, item.getId());
+            ps.setTimestamp(2, item.getCreatedDate() == null ? now : Timestamp.valueOf(item.getCreatedDate()));
+        });
+        // 실제로 insert 된 row 수 (이미 있던 id는 0)
+        // 드라이버가 건수를 모르면 Statement.SUCCESS_NO_INFO(-2) -> 세지 않음
+        return Arrays.stream(counts)
+                .flatMapToInt(Arrays::stream)
+                .filter(count -> count > 0)
+                .sum();
+    }
+
+    private String upsertSql() {
+        if (upsertSql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            upsertSql = upsertSqlFor(product);
+        }
+        return upsertSql;
+    }
+
+    // DB별 upsert 문법 (이미 있는 id면 아무것도 안 함 - 기존 생성일 유지)
+    static String upsertSqlFor(String databaseProductName) {
+        switch (databaseProductName) {
+            case "H2":
+                return "merge into item t using (select cast(? as varchar) as id, cast(? as timestamp) as created_date) s" +
+                        " on (t.id = s.id)" +
+                        " when not matched then insert (id, created_date) values (s.id, s.created_date)";
+            case "PostgreSQL":
+                return "insert into item (id, created_date) values (?, ?) on conflict (id) do nothing";
+            case "MySQL":
+            case "MariaDB":
+                // insert ignore 는 키 충돌 말고 다른 오류(NOT NULL, 잘림)도 경고로 바꿔버림 -> 키 충돌만 무시
+                // 건수: 드라이버 useAffectedRows=true 여야 아무것도 안 바뀐 row가 0 (기본값은 찾은 row 수)
+                return "insert into item (id, created_date) values (?, ?) on duplicate key update id = id";
+            default:
+                throw new UnsupportedOperationException("upsert를 지원하지 않는 DB: " + databaseProductName);
+        }
+    }
+}
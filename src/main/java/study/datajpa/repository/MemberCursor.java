@@ -0,0 +1,46 @@
+package study.datajpa.repository;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 키셋(커서) 페이징용 커서 - 마지막으로 조회한 (username, id)
+ * 클라이언트에게는 Base64로 인코딩한 불투명 토큰으로만 노출
+ */
+@Getter
+public class MemberCursor {
+    private static final String SEPARATOR = "\u0000";
+
+    private final String username;
+    private final Long id;
+
+    public MemberCursor(String username, Long id) {
+        this.username = username;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = username + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MemberCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서 토큰: " + token, e);
+        }
+        int idx = raw.lastIndexOf(SEPARATOR);
+        if (idx < 0) {
+            throw new IllegalArgumentException("잘못된 커서 토큰: " + token);
+        }
+        try {
+            return new MemberCursor(raw.substring(0, idx), Long.valueOf(raw.substring(idx + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서 토큰: " + token, e);
+        }
+    }
+}
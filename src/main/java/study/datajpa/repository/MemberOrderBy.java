@@ -0,0 +1,46 @@
+package study.datajpa.repository;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.regex.Pattern;
+
+/**
+ * Pageable의 Sort -> JPQL order by (회원 별칭 m, 팀 별칭 t)
+ * QueryUtils.applySorting 은 team.name 을 m.team.name 으로 만들어서 묵시적 내부 조인(팀 없는 회원 누락)이 생김
+ * -> team.* 정렬은 쿼리에서 조인한 t 별칭으로 바꿈 (쿼리에 t 조인이 있어야 함 - joinsTeam 으로 확인)
+ */
+final class MemberOrderBy {
+
+    private static final String TEAM_PREFIX = "team.";
+    private static final Pattern PROPERTY = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)*");
+
+    private MemberOrderBy() {
+    }
+
+    static boolean joinsTeam(Sort sort) {
+        return sort.stream().anyMatch(order -> order.getProperty().startsWith(TEAM_PREFIX));
+    }
+
+    // 정렬이 없으면 빈 문자열
+    static String of(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        StringBuilder orderBy = new StringBuilder(" order by ");
+        String separator = "";
+        for (Sort.Order order : sort) {
+            String property = order.getProperty();
+            if (!PROPERTY.matcher(property).matches()) { // 파라미터 바인딩이 아니라 문자열로 붙이므로 속성 경로만 허용
+                throw new IllegalArgumentException("정렬할 수 없는 속성: " + property);
+            }
+            String path = property.startsWith(TEAM_PREFIX)
+                    ? "t." + property.substring(TEAM_PREFIX.length())
+                    : "m." + property;
+            orderBy.append(separator)
+                    .append(order.isIgnoreCase() ? "lower(" + path + ")" : path)
+                    .append(order.isAscending() ? " asc" : " desc");
+            separator = ", ";
+        }
+        return orderBy.toString();
+    }
+}
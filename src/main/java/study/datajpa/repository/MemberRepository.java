@@ -6,6 +6,7 @@ import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
 
@@ -16,6 +17,9 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+// 인터페이스에 선언한 쿼리 메서드에는 스프링 데이터가 트랜잭션을 걸지 않음 -> 기본은 읽기 전용 (스냅샷 X, flush X, 읽기 전용 커넥션/레플리카)
+// 수정하는 메서드(@Modifying), 쓰기 락(select for update)만 @Transactional 따로 선언
+@Transactional(readOnly = true)
 public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom, JpaSpecificationExecutor<Member> { // 인터페이스 상속 extends, MemberRepositoryCustom = 커스텀한 Repository 상속
 
     // 메소드 이름으로 쿼리 생성 - 필드이름 정확히 적어야함
@@ -55,11 +59,16 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     @Query(value = "select m from Member m left join m.team t", countQuery = "select count(m.username) from Member m") // totalCount 성능 최적화를 위한, 쿼리 분리(값 가져오는 쿼리, totalCount 쿼리)
     Page<Member> findPageByAge(int age, Pageable pageable); // 파라미터 pageable, 반환타입 Page
     Slice<Member> findSliceByAge(int age, Pageable pageable); // 파라미터 pageable, 반환타입 Slice
+
+    // 무한 스크롤용 Slice - DTO로 바로 조회 (size + 1개 조회해서 hasNext 판단, count 쿼리 X)
+    @Query("select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t where m.age = :age")
+    Slice<MemberDto> findSliceDtoByAge(@Param("age") int age, Pageable pageable);
     List<Member> findListByAge(int age, Pageable pageable); // 파라미터 pageable, 반환타입 Page
 
     // 벌크성 수정 쿼리
     @Modifying(clearAutomatically = true)
-    @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
+    @Transactional
+    @Query("update versioned Member m set m.age = m.age + 1 where m.age >= :age") // versioned: version도 +1 -> 벌크 전에 조회한 엔티티 저장시 OptimisticLockException
     int bulkAgePlus(@Param("age") int age);
     // @Modifying: JPA의 executeUpdate를 실행 - 작성 안하면 getResultList, getSingleResult호출함
     // clearAutomatically = true: 벌크 연산 이후에 em.clear()자동으로 해줌
@@ -91,8 +100,13 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     Member findReadOnlyByUsername(String username);
     // readOnly = true되어있으면 성능최적화해서 스냅샷을 안 만듦.
 
+    // 쿼리 캐시 (opt-in) - 같은 username 조회는 캐시된 id 목록 + 2차 캐시로 처리, Member 테이블이 수정되면 자동 무효화
+    @QueryHints(value = @QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<Member> findCachedByUsername(String username);
+
     // Lock
     @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Transactional // 읽기 전용 트랜잭션에서는 select for update 불가 (PostgreSQL 등)
     List<Member> findLockByUsername(String username);
 
     // Interface - Projection
@@ -104,13 +118,16 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     // 동적 Projection
     <T> List<T> findDynamicProjectionByUsername(String username, Class<T> type);
 
+    // id로 동적 Projection - 닫힌 인터페이스, DTO면 필요한 컬럼만 select (엔티티, 영속성 컨텍스트 X)
+    <T> Optional<T> findProjectedById(Long id, Class<T> type);
+
     // 네이티브 쿼리
     @Query(value = "select * from member where username = ?", nativeQuery = true)
     Member findByNativeQuery(String username);
 
     // Projection + native query
     @Query(value = "select m.member_id as id, m.username, t.name as teamName " +
-                    "from member m left join team t",
+                    "from member m left join team t on m.team_id = t.team_id", // on 절 없으면 cross join (member x team)
                     countQuery = "select count(*) from member",
                     nativeQuery = true)
     Page<MemberProjection> findByNativeProjection(Pageable pageable);
@@ -1,9 +1,59 @@
 package study.datajpa.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface MemberRepositoryCustom {
     List<Member> findMemberCustom();
+
+    // 키셋(커서) 페이징 - username desc, id desc 순서로 cursor 다음 size개 조회 (cursor == null 이면 첫 페이지)
+    Slice<Member> findByCursor(MemberCursor cursor, int size);
+
+    // 페이징 + count 전략 선택 (count 쿼리가 페이지 조회보다 비쌀 때)
+    Page<Member> findAll(Pageable pageable, CountStrategy countStrategy);
+    Page<Member> findPageByAge(int age, Pageable pageable, CountStrategy countStrategy);
+    Page<MemberProjection> findByNativeProjection(Pageable pageable, CountStrategy countStrategy);
+
+    // findAll(pageable) 과 같은 페이지를 엔티티 대신 DTO로 바로 조회 (팀 이름 join, pageable의 Sort 적용)
+    Page<MemberDto> findDtoAll(Pageable pageable, CountStrategy countStrategy);
+
+    // 대량 저장 - batchSize 단위로 JDBC batch insert, 배치마다 그 배치만 detach (저장된 엔티티는 준영속, 호출한 쪽에서 관리 중인 다른 엔티티는 그대로)
+    @Transactional // MemberRepository의 readOnly 대신 구현체(MemberRepositoryImpl)와 같은 설정
+    int saveAllBatched(Iterable<Member> members, int batchSize);
+
+    // 전체 회원 스트리밍 조회 - fetchSize 단위로 가져오고, 꺼낸 엔티티는 바로 detach (영속성 컨텍스트가 커지지 않음)
+    // WARN) 트랜잭션 안에서 사용하고, 다 쓰면 반드시 close (try-with-resources)
+    Stream<Member> streamAll(int fetchSize);
+
+    // streamAll 을 읽기 전용 트랜잭션 하나 안에서 끝까지 소비 - 트랜잭션 밖(컨트롤러)에서 내보내기할 때 사용, 반환값은 처리한 회원 수
+    long forEachMember(int fetchSize, Consumer<Member> action);
+
+    // 청크 단위 벌크 수정 - 대상 회원을 id 순으로 chunkSize 명씩 나눠서 청크마다 별도 트랜잭션으로 커밋
+    // resumeAfterId: 이 id 이후부터 처리 (처음이면 null), progress: 청크 커밋마다 호출
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    long bulkAgePlusChunked(int age, int chunkSize, Long resumeAfterId, Consumer<BulkUpdateProgress> progress);
+
+    // username 목록으로 대량 조회 - chunkSize 개씩 나눠서 IN 쿼리 (DB 파라미터 수 제한), 결과는 names 순서대로 (같은 이름은 id 순)
+    // chunkSize 는 2의 거듭제곱으로 내림 (IN 절 padding 후에도 파라미터 수가 chunkSize 이하)
+    // parallel: 호출한 쪽에 트랜잭션이 없을 때만 청크를 repositoryExecutor에서 동시에 조회 (트랜잭션 안이면 같은 영속성 컨텍스트에서 순서대로)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    List<Member> findByNamesChunked(Collection<String> names, int chunkSize, boolean parallel);
+
+    // findAllById + 영속성 컨텍스트, 2차 캐시에 없는 id만 한 번에 조회 (MultiIdLoader)
+    // ordered: true면 ids 순서대로, 없는 id 자리는 null
+    List<Member> findAllById(List<Long> ids, boolean ordered);
+
+    // MemberSpec.of(condition) 과 같은 검색 - 조건 조합별로 미리 만든 쿼리 재사용
+    List<Member> search(MemberSearchCondition condition);
+    Page<Member> search(MemberSearchCondition condition, Pageable pageable); // 조건 조합별 count 쿼리도 재사용
 }
@@ -1,19 +1,426 @@
 package study.datajpa.repository;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.audit.AuditClock;
+import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
 
+import javax.persistence.CacheStoreMode;
 import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
+@Transactional(readOnly = true) // SimpleJpaRepository와 같이 조회는 읽기 전용, 쓰기 메서드만 @Transactional
 public class MemberRepositoryImpl implements MemberRepositoryCustom{
 
+    private static final String CACHE_STORE_MODE = "javax.persistence.cache.storeMode"; // JPA 쿼리 힌트 - 조회 결과를 2차 캐시에 넣을지
+
     private final EntityManager em;
+    private final PageCountSupport pageCountSupport;
+    private final PlatformTransactionManager transactionManager;
+    private final AuditorAware<String> auditorAware;
+    private final CompiledMemberQueries compiledMemberQueries;
+    private final Executor repositoryExecutor;
+    private final MultiIdLoader multiIdLoader;
+    private volatile String databaseProductName;
 
     @Override
     public List<Member> findMemberCustom() {
         return em.createQuery("select m from Member m")
                 .getResultList();
     }
+
+    @Override
+    public Slice<Member> findByCursor(MemberCursor cursor, int size) {
+        // offset 대신 마지막 (username, id) 보다 뒤에 있는 row만 조회
+        // -> (username, member_id) 인덱스를 타고 바로 시작 위치를 찾으므로 몇 번째 페이지든 비용이 일정함
+        TypedQuery<Member> query;
+        if (cursor == null) {
+            query = em.createQuery("select m from Member m order by m.username desc, m.id desc", Member.class);
+        } else {
+            query = em.createQuery("select m from Member m" +
+                            // 앞의 username <= :username 은 인덱스 범위 검색 시작점 (or 만 있으면 옵티마이저가 인덱스 범위로 못 바꾸고 스캔할 수 있음)
+                            " where m.username <= :username and (m.username < :username or m.id < :id)" +
+                            " order by m.username desc, m.id desc", Member.class)
+                    .setParameter("username", cursor.getUsername())
+                    .setParameter("id", cursor.getId());
+        }
+
+        List<Member> content = query
+                .setMaxResults(size + 1) // 1개 더 조회해서 다음 페이지 여부 판단 (count 쿼리 X)
+                .getResultList();
+
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
+
+    @Override
+    public Page<Member> findAll(Pageable pageable, CountStrategy countStrategy) {
+        // team.* 정렬이면 left join (QueryUtils 는 m.team.name 묵시적 내부 조인 -> 팀 없는 회원 누락)
+        String jpql = MemberOrderBy.joinsTeam(pageable.getSort())
+                ? "select m from Member m left join m.team t"
+                : "select m from Member m";
+        List<Member> content = em.createQuery(jpql + MemberOrderBy.of(pageable.getSort()), Member.class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return pageCountSupport.toPage(content, pageable, countStrategy, "Member.findAll",
+                this::countAll,
+                this::estimateMemberCount);
+    }
+
+    @Override
+    public Page<MemberDto> findDtoAll(Pageable pageable, CountStrategy countStrategy) {
+        // 엔티티 조회 후 map(MemberDto::new) 하면 영속성 컨텍스트 등록, 스냅샷, 사용하지 않는 컬럼까지 만들어짐
+        // -> 필요한 컬럼만 select new 로 조회 (Sort는 엔티티 경로 기준, ex) username, age, team.name -> 조인한 t 별칭으로)
+        List<MemberDto> content = em.createQuery(
+                        "select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t"
+                                + MemberOrderBy.of(pageable.getSort()), MemberDto.class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return pageCountSupport.toPage(content, pageable, countStrategy, "Member.findAll", // findAll과 같은 count
+                this::countAll,
+                this::estimateMemberCount);
+    }
+
+    @Override
+    public Page<Member> findPageByAge(int age, Pageable pageable, CountStrategy countStrategy) {
+        // MemberRepository.findPageByAge 와 같은 쿼리 (content, countQuery 모두 동일)
+        List<Member> content = em.createQuery(QueryUtils.applySorting("select m from Member m left join m.team t", pageable.getSort(), "m"), Member.class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return pageCountSupport.toPage(content, pageable, countStrategy, "Member.findPageByAge", // count 쿼리에 age 조건이 없음 -> 키에도 age X
+                () -> em.createQuery("select count(m.username) from Member m", Long.class).getSingleResult(),
+                this::estimateMemberCount);
+    }
+
+    @Override
+    public Page<MemberProjection> findByNativeProjection(Pageable pageable, CountStrategy countStrategy) {
+        Query query = em.createNativeQuery(QueryUtils.applySorting(
+                        "select m.member_id as id, m.username, t.name as teamName from member m left join team t on m.team_id = t.team_id",
+                        pageable.getSort(), "m"))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize());
+
+        List<Object[]> rows = query.getResultList();
+        List<MemberProjection> content = rows.stream()
+                .map(row -> new MemberProjectionRow(row[0] == null ? null : ((Number) row[0]).longValue(), (String) row[1], (String) row[2]))
+                .collect(Collectors.toList());
+
+        return pageCountSupport.toPage(content, pageable, countStrategy, "Member.findByNativeProjection",
+                () -> ((Number) em.createNativeQuery("select count(*) from member").getSingleResult()).longValue(),
+                this::estimateMemberCount);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS) // 트랜잭션이 없으면 만들지 않음 -> 청크별 트랜잭션으로 병렬 조회 가능
+    public List<Member> findByNamesChunked(Collection<String> names, int chunkSize, boolean parallel) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize는 1 이상이어야 합니다: " + chunkSize);
+        }
+        // in_clause_parameter_padding 은 IN 목록을 다음 2의 거듭제곱까지 채움 (ex) 1000 -> 1024)
+        // -> DB 파라미터 수 제한 바로 아래로 정한 chunkSize 를 넘지 않도록 2의 거듭제곱으로 내림
+        int paddedChunkSize = Integer.highestOneBit(chunkSize);
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(names));
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += paddedChunkSize) {
+            chunks.add(distinct.subList(from, Math.min(from + paddedChunkSize, distinct.size())));
+        }
+
+        List<Member> found = new ArrayList<>();
+        if (parallel && chunks.size() > 1 && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            // 청크마다 별도 읽기 전용 트랜잭션 (결과는 준영속 상태)
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            List<CompletableFuture<List<Member>>> futures = chunks.stream()
+                    .map(chunk -> CompletableFuture.supplyAsync(() -> readOnly.execute(status -> findByNameChunk(chunk)), repositoryExecutor))
+                    .collect(Collectors.toList());
+            futures.forEach(future -> found.addAll(future.join()));
+        } else {
+            chunks.forEach(chunk -> found.addAll(findByNameChunk(chunk)));
+        }
+
+        // 호출한 쪽 names 순서로 합침
+        Map<String, List<Member>> byName = new HashMap<>();
+        for (Member member : found) {
+            byName.computeIfAbsent(member.getUsername(), name -> new ArrayList<>()).add(member);
+        }
+        List<Member> result = new ArrayList<>(found.size());
+        for (String name : distinct) {
+            result.addAll(byName.getOrDefault(name, Collections.emptyList()));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Member> findAllById(List<Long> ids, boolean ordered) {
+        return multiIdLoader.findAllById(Member.class, ids, ordered);
+    }
+
+    // IN 절 파라미터 수는 hibernate.query.in_clause_parameter_padding 으로 2의 거듭제곱까지 채워짐
+    private List<Member> findByNameChunk(List<String> names) {
+        return em.createQuery("select m from Member m where m.username in :names order by m.id", Member.class)
+                .setParameter("names", names)
+                .setHint(CACHE_STORE_MODE, CacheStoreMode.BYPASS) // 대량 조회 결과로 2차 캐시를 채우지 않음
+                .getResultList();
+    }
+
+    @Override
+    @Transactional
+    public int saveAllBatched(Iterable<Member> members, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize는 1 이상이어야 합니다: " + batchSize);
+        }
+        // 이 세션에서만 JDBC batch 사용 (hibernate.jdbc.batch_size 전역 설정 없이)
+        Session session = em.unwrap(Session.class);
+        Integer previousBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+        // 대량 저장한 회원으로 2차 캐시(Member 영역)를 채우면 자주 쓰는 항목이 밀려남 -> 이 작업 동안 캐시에 넣지 않음
+        CacheMode previousCacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        // 등록자/등록일은 배치 전체에 한 번만 구해서 채움 (엔티티마다 auditing 리스너 처리 X)
+        String auditor = auditorAware.getCurrentAuditor().orElse(null);
+        LocalDateTime now = AuditClock.now();
+        try {
+            int count = 0;
+            List<Member> batch = new ArrayList<>(batchSize);
+            for (Member member : members) {
+                member.stampCreated(auditor, now);
+                em.persist(member); // id는 시퀀스 pooled optimizer로 미리 확보된 값 사용
+                batch.add(member);
+                if (++count % batchSize == 0) {
+                    // batchSize개 insert를 한 번에 보내고 이번 배치만 detach 해서 메모리 일정하게 유지
+                    flushAndDetach(batch);
+                }
+            }
+            flushAndDetach(batch);
+            return count;
+        } finally {
+            session.setJdbcBatchSize(previousBatchSize);
+            session.setCacheMode(previousCacheMode);
+        }
+    }
+
+    // em.clear() 는 호출한 쪽 트랜잭션에서 이미 관리 중인 엔티티까지 준영속으로 만듦 -> 방금 저장한 배치만 detach
+    private void flushAndDetach(List<Member> batch) {
+        em.flush();
+        batch.forEach(em::detach);
+        batch.clear();
+    }
+
+    @Override
+    public Stream<Member> streamAll(int fetchSize) {
+        // getResultStream: 하이버네이트 ScrollableResults(FORWARD_ONLY) 기반 - List로 한 번에 올리지 않음
+        return em.createQuery("select m from Member m", Member.class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true) // 스냅샷 X
+                .setHint(CACHE_STORE_MODE, CacheStoreMode.BYPASS) // 전체 스캔 결과로 2차 캐시를 채우지 않음 (자주 쓰는 항목 유지)
+                .getResultStream()
+                .map(member -> {
+                    em.detach(member); // 꺼낸 엔티티는 영속성 컨텍스트에서 제거 (지연 로딩 team은 사용 불가)
+                    return member;
+                });
+    }
+
+    @Override
+    public long forEachMember(int fetchSize, Consumer<Member> action) {
+        // 클래스 레벨 readOnly 트랜잭션 - 스트림(커서)을 다 읽고 닫을 때까지 커넥션 유지
+        long count = 0;
+        try (Stream<Member> members = streamAll(fetchSize)) {
+            Iterator<Member> iterator = members.iterator();
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 청크마다 트랜잭션을 직접 시작
+    public long bulkAgePlusChunked(int age, int chunkSize, Long resumeAfterId, Consumer<BulkUpdateProgress> progress) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize는 1 이상이어야 합니다: " + chunkSize);
+        }
+        // 한 방 update는 대상 row 전체에 락 + 거대한 트랜잭션(undo)
+        // -> 대상 row를 id 순으로 chunkSize 개씩 잘라서 청크마다 커밋: 락 유지 시간, undo 크기가 청크 크기로 제한됨
+        // id는 pooled 시퀀스(allocationSize 50) + 삭제로 빈 구간이 많음 -> 고정 id 범위가 아니라 다음 chunkSize 개의 id로 경계를 정함 (keyset)
+        TransactionTemplate chunkTx = new TransactionTemplate(transactionManager);
+        chunkTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Long maxId = chunkTx.execute(status -> em.createQuery("select max(m.id) from Member m", Long.class)
+                .getSingleResult());
+        if (maxId == null) {
+            return 0;
+        }
+
+        long totalUpdated = 0;
+        long after = resumeAfterId == null ? Long.MIN_VALUE : resumeAfterId;
+        while (after < maxId) {
+            long fromId = after;
+            long[] chunk = chunkTx.execute(status -> {
+                List<Long> ids = em.createQuery(
+                                "select m.id from Member m where m.id > :after and m.id <= :maxId and m.age >= :age order by m.id", Long.class)
+                        .setParameter("after", fromId)
+                        .setParameter("maxId", maxId)
+                        .setParameter("age", age)
+                        .setMaxResults(chunkSize)
+                        .getResultList();
+                if (ids.isEmpty()) {
+                    return null;
+                }
+                long toId = ids.get(ids.size() - 1);
+                int updated = em.createQuery(
+                                "update versioned Member m set m.age = m.age + 1" + // version +1 (벌크 전에 조회한 엔티티가 덮어쓰지 않도록)
+                                        " where m.age >= :age and m.id > :fromId and m.id <= :toId")
+                        .setParameter("age", age)
+                        .setParameter("fromId", fromId)
+                        .setParameter("toId", toId)
+                        .executeUpdate();
+                return new long[]{toId, updated};
+            });
+            if (chunk == null) {
+                break; // 남은 대상 없음
+            }
+            after = chunk[0];
+            totalUpdated += chunk[1];
+            if (progress != null) {
+                progress.accept(new BulkUpdateProgress(after, maxId, (int) chunk[1], totalUpdated));
+            }
+        }
+        return totalUpdated;
+    }
+
+    @Override
+    public List<Member> search(MemberSearchCondition condition) {
+        return compiledMemberQueries.create(em, condition)
+                .getResultList();
+    }
+
+    @Override
+    public Page<Member> search(MemberSearchCondition condition, Pageable pageable) {
+        TypedQuery<Member> query = compiledMemberQueries.create(em, condition, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize());
+        }
+        // 마지막 페이지처럼 content만으로 전체 수를 알 수 있으면 count 쿼리 생략 (스프링 데이터와 같음)
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable,
+                () -> compiledMemberQueries.count(em, condition).getSingleResult());
+    }
+
+    private long countAll() {
+        return em.createQuery("select count(m) from Member m", Long.class)
+                .getSingleResult();
+    }
+
+    // DB 통계 정보의 예상 row 수 - 지원하지 않는 DB거나 통계가 없으면 정확한 count
+    private long estimateMemberCount() {
+        Session session = em.unwrap(Session.class);
+        if (databaseProductName == null) {
+            databaseProductName = session.doReturningWork(con -> con.getMetaData().getDatabaseProductName());
+        }
+        String sql = estimateSqlFor(databaseProductName);
+        if (sql == null) {
+            return countAll();
+        }
+        // JPA 네이티브 쿼리가 실패하면 트랜잭션이 rollback-only 가 됨 -> JDBC로 직접 실행하고 실패하면 정확한 count
+        Long estimate = session.doReturningWork(con -> {
+            try (PreparedStatement ps = con.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
+                Number value = rs.next() ? (Number) rs.getObject(1) : null;
+                return value == null ? null : value.longValue();
+            } catch (SQLException e) {
+                return null;
+            }
+        });
+        if (estimate == null || estimate < 0) { // PostgreSQL: 한 번도 ANALYZE 하지 않은 테이블은 -1
+            return countAll();
+        }
+        return estimate;
+    }
+
+    // DB별 예상 row 수 조회 (null 이면 지원하지 않는 DB)
+    static String estimateSqlFor(String databaseProductName) {
+        switch (databaseProductName) {
+            case "H2":
+                return "select row_count_estimate from information_schema.tables where table_name = 'MEMBER'";
+            case "PostgreSQL":
+                return "select reltuples::bigint from pg_class where oid = to_regclass('member')";
+            case "MySQL":
+            case "MariaDB":
+                return "select table_rows from information_schema.tables where table_schema = database() and table_name = 'member'";
+            default:
+                return null;
+        }
+    }
+
+    private static class MemberProjectionRow implements MemberProjection {
+        private final Long id;
+        private final String username;
+        private final String teamName;
+
+        private MemberProjectionRow(Long id, String username, String teamName) {
+            this.id = id;
+            this.username = username;
+            this.teamName = teamName;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getUsername() {
+            return username;
+        }
+
+        @Override
+        public String getTeamName() {
+            return teamName;
+        }
+    }
 }
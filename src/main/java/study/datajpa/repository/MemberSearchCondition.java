@@ -0,0 +1,21 @@
+package study.datajpa.repository;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 회원 검색 조건 - null(빈 문자열)인 조건은 무시
+@Getter @Setter
+@NoArgsConstructor
+public class MemberSearchCondition {
+    private String username;
+    private String usernamePrefix;
+    private Integer ageGoe; // 나이 >=
+    private Integer ageLoe; // 나이 <=
+    private String teamName;
+
+    public MemberSearchCondition(String username, String teamName) {
+        this.username = username;
+        this.teamName = teamName;
+    }
+}
@@ -0,0 +1,127 @@
+package study.datajpa.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+import study.datajpa.entity.Member;
+
+/**
+ * 회원 검색 조건 하나당 하나 - MemberSpec(Criteria)과 CompiledMemberQueries(JPQL)가 같이 사용
+ * 조건 추가/변경은 여기서만 (두 검색 방식의 의미가 달라지지 않도록)
+ * 선언 순서 = where 절 순서: 인덱스가 있는 member 컬럼 조건(username > age)을 먼저, 조인이 필요한 team 조건은 마지막
+ */
+enum MemberSearchField {
+
+    USERNAME("m.username = :username", "username") {
+        @Override
+        boolean isPresent(MemberSearchCondition condition) {
+            return StringUtils.hasText(condition.getUsername());
+        }
+
+        @Override
+        Object value(MemberSearchCondition condition) {
+            return condition.getUsername();
+        }
+
+        @Override
+        Specification<Member> spec(MemberSearchCondition condition) {
+            return MemberSpec.username(condition.getUsername());
+        }
+    },
+    USERNAME_PREFIX("m.username like :usernamePrefix escape '" + MemberSpec.LIKE_ESCAPE + "'", "usernamePrefix") {
+        @Override
+        boolean isPresent(MemberSearchCondition condition) {
+            return StringUtils.hasText(condition.getUsernamePrefix());
+        }
+
+        @Override
+        Object value(MemberSearchCondition condition) {
+            return MemberSpec.likePrefix(condition.getUsernamePrefix());
+        }
+
+        @Override
+        Specification<Member> spec(MemberSearchCondition condition) {
+            return MemberSpec.usernameStartsWith(condition.getUsernamePrefix());
+        }
+    },
+    AGE_GOE("m.age >= :ageGoe", "ageGoe") {
+        @Override
+        boolean isPresent(MemberSearchCondition condition) {
+            return condition.getAgeGoe() != null;
+        }
+
+        @Override
+        Object value(MemberSearchCondition condition) {
+            return condition.getAgeGoe();
+        }
+
+        @Override
+        Specification<Member> spec(MemberSearchCondition condition) {
+            return MemberSpec.ageGoe(condition.getAgeGoe());
+        }
+    },
+    AGE_LOE("m.age <= :ageLoe", "ageLoe") {
+        @Override
+        boolean isPresent(MemberSearchCondition condition) {
+            return condition.getAgeLoe() != null;
+        }
+
+        @Override
+        Object value(MemberSearchCondition condition) {
+            return condition.getAgeLoe();
+        }
+
+        @Override
+        Specification<Member> spec(MemberSearchCondition condition) {
+            return MemberSpec.ageLoe(condition.getAgeLoe());
+        }
+    },
+    TEAM_NAME("t.name = :teamName", "teamName") { // JPQL에서 team 별칭은 t
+        @Override
+        boolean isPresent(MemberSearchCondition condition) {
+            return StringUtils.hasText(condition.getTeamName());
+        }
+
+        @Override
+        Object value(MemberSearchCondition condition) {
+            return condition.getTeamName();
+        }
+
+        @Override
+        Specification<Member> spec(MemberSearchCondition condition) {
+            return MemberSpec.teamName(condition.getTeamName());
+        }
+
+        @Override
+        boolean needsTeamJoin() {
+            return true;
+        }
+    };
+
+    private final String jpql;
+    private final String parameter;
+
+    MemberSearchField(String jpql, String parameter) {
+        this.jpql = jpql;
+        this.parameter = parameter;
+    }
+
+    abstract boolean isPresent(MemberSearchCondition condition);
+
+    // 바인딩할 파라미터 값 (like 패턴은 이스케이프까지 적용한 값)
+    abstract Object value(MemberSearchCondition condition);
+
+    abstract Specification<Member> spec(MemberSearchCondition condition);
+
+    // jpql 이 team 별칭 t 를 쓰면 true - CompiledMemberQueries 가 조회/count 쿼리에 join m.team t 추가
+    boolean needsTeamJoin() {
+        return false;
+    }
+
+    String jpql() {
+        return jpql;
+    }
+
+    String parameter() {
+        return parameter;
+    }
+}
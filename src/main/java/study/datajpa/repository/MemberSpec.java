@@ -9,6 +9,8 @@ import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
 
 public class MemberSpec {
+    static final char LIKE_ESCAPE = '!';
+
     public static Specification<Member> teamName(final String teamName) {
         return (Specification<Member>) (root, query, builder) -> {
             if (StringUtils.isEmpty(teamName)) {
@@ -23,4 +25,39 @@ public class MemberSpec {
         return (Specification<Member>) (root, query, builder) ->
                 builder.equal(root.get("username"), username);
     }
+
+    // username like 'prefix%' - (username, member_id) 인덱스 범위 검색 가능 ('%prefix'는 불가)
+    public static Specification<Member> usernameStartsWith(final String prefix) {
+        return (Specification<Member>) (root, query, builder) ->
+                builder.like(root.<String>get("username"), likePrefix(prefix), LIKE_ESCAPE);
+    }
+
+    public static Specification<Member> ageGoe(final int age) {
+        return (Specification<Member>) (root, query, builder) ->
+                builder.greaterThanOrEqualTo(root.<Integer>get("age"), age);
+    }
+
+    public static Specification<Member> ageLoe(final int age) {
+        return (Specification<Member>) (root, query, builder) ->
+                builder.lessThanOrEqualTo(root.<Integer>get("age"), age);
+    }
+
+    // 검색 조건 중 값이 있는 것만 and로 조합 (조건, 순서는 MemberSearchField)
+    public static Specification<Member> of(MemberSearchCondition condition) {
+        Specification<Member> spec = Specification.where(null);
+        for (MemberSearchField field : MemberSearchField.values()) {
+            if (field.isPresent(condition)) {
+                spec = spec.and(field.spec(condition));
+            }
+        }
+        return spec;
+    }
+
+    // like 특수문자(%, _)는 문자 그대로 검색
+    static String likePrefix(String prefix) {
+        String escaped = prefix.replace("" + LIKE_ESCAPE, "" + LIKE_ESCAPE + LIKE_ESCAPE)
+                .replace("%", LIKE_ESCAPE + "%")
+                .replace("_", LIKE_ESCAPE + "_");
+        return escaped + "%";
+    }
 }
@@ -0,0 +1,8 @@
+package study.datajpa.repository;
+
+// 닫힌 Projection - 단건 조회 API용 (id, username, ETag 계산용 version만 select)
+public interface MemberSummary {
+    Long getId();
+    String getUsername();
+    Long getVersion();
+}
@@ -0,0 +1,44 @@
+package study.datajpa.repository;
+
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 여러 id 한 번에 조회 (JpaRepository.findAllById 대신)
+ * 1) 영속성 컨텍스트(1차 캐시)에 있는 엔티티는 그대로 사용
+ * 2) 2차 캐시에 있는 엔티티는 캐시에서 꺼냄
+ * 3) 나머지 id만 IN 쿼리 한 번으로 조회
+ */
+@Component
+public class MultiIdLoader {
+
+    private static final int MAX_BATCH_SIZE = 1000; // IN 절 파라미터 수 제한 (ex. 오라클 1000개)
+
+    @PersistenceContext
+    private EntityManager em;
+
+    /**
+     * @param ordered true: ids와 같은 순서, 같은 크기 (없는 id, 삭제된 엔티티 자리는 null)
+     *                false: 찾은 엔티티만 (순서 보장 X)
+     */
+    public <T> List<T> findAllById(Class<T> type, List<?> ids, boolean ordered) {
+        Cache cache = em.getEntityManagerFactory().getCache();
+        Session session = em.unwrap(Session.class);
+        for (Object id : ids) {
+            if (id != null && cache.contains(type, id)) {
+                session.get(type, (Serializable) id); // 2차 캐시 -> 영속성 컨텍스트 (이미 있으면 그대로)
+            }
+        }
+        return session.byMultipleIds(type)
+                .enableSessionCheck(true) // 영속성 컨텍스트에 있는 id는 조회하지 않음
+                .enableOrderedReturn(ordered)
+                .withBatchSize(Math.max(1, Math.min(ids.size(), MAX_BATCH_SIZE)))
+                .multiLoad(ids);
+    }
+}
@@ -0,0 +1,109 @@
+package study.datajpa.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * CountStrategy에 따라 content + totalCount로 Page를 만들어줌
+ * count 캐시는 조건(key)별로 TTL 동안 유지 - 만료된 항목은 새로 넣을 때 정리,
+ * Member 저장/수정/삭제시 커밋 후 전체 무효화 (MemberResponseCacheInvalidator)
+ */
+@Component
+public class PageCountSupport {
+
+    private static final String EVICTION_KEY = PageCountSupport.class.getName() + ".eviction";
+
+    private final Duration ttl;
+    private final Map<String, CachedCount> cache = new ConcurrentHashMap<>();
+
+    public PageCountSupport(@Value("${datajpa.count-cache.ttl:30s}") Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    /**
+     * @param key      count 캐시 키 (count 쿼리 + 그 쿼리의 파라미터 조합)
+     * @param exact    정확한 count 쿼리
+     * @param estimate 예상 count (DB 통계)
+     */
+    public <T> Page<T> toPage(List<T> content, Pageable pageable, CountStrategy strategy,
+                              String key, LongSupplier exact, LongSupplier estimate) {
+        switch (strategy) {
+            case EXACT:
+                return PageableExecutionUtils.getPage(content, pageable, exact);
+            case CACHED:
+                return PageableExecutionUtils.getPage(content, pageable, () -> cachedCount(key, exact));
+            case ESTIMATED:
+                return PageableExecutionUtils.getPage(content, pageable, estimate);
+            default:
+                throw new IllegalArgumentException("지원하지 않는 CountStrategy: " + strategy);
+        }
+    }
+
+    public void evictAll() {
+        cache.clear();
+    }
+
+    // 커밋 전에 지우면 다른 스레드가 커밋 전 count 로 다시 채울 수 있음 -> 커밋 후 (트랜잭션당 한 번)
+    public void evictAllAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictAll();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(EVICTION_KEY)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(EVICTION_KEY, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictAll();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(EVICTION_KEY);
+            }
+        });
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private long cachedCount(String key, LongSupplier exact) {
+        long now = System.nanoTime();
+        CachedCount cached = cache.get(key);
+        if (cached != null && !cached.isExpired(now, ttl.toNanos())) {
+            return cached.count;
+        }
+        long count = exact.getAsLong();
+        cache.values().removeIf(entry -> entry.isExpired(now, ttl.toNanos())); // 다시 조회되지 않는 키도 남지 않도록
+        cache.put(key, new CachedCount(count, now));
+        return count;
+    }
+
+    private static class CachedCount {
+        private final long count;
+        private final long loadedAt;
+
+        private CachedCount(long count, long loadedAt) {
+            this.count = count;
+            this.loadedAt = loadedAt;
+        }
+
+        private boolean isExpired(long now, long ttlNanos) {
+            return now - loadedAt >= ttlNanos;
+        }
+    }
+}
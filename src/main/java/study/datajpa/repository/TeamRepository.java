@@ -1,8 +1,10 @@
 package study.datajpa.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.entity.Team;
 
 // @Repository 없어도 됨
-public interface TeamRepository extends JpaRepository<Team, Long> {
+@Transactional(readOnly = true) // 선언한 쿼리 메서드도 읽기 전용 트랜잭션
+public interface TeamRepository extends JpaRepository<Team, Long>, TeamRepositoryCustom {
 }
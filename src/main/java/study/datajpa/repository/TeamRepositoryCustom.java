@@ -0,0 +1,11 @@
+package study.datajpa.repository;
+
+import study.datajpa.entity.Team;
+
+import java.util.List;
+
+public interface TeamRepositoryCustom {
+    // findAllById + 영속성 컨텍스트, 2차 캐시에 없는 id만 한 번에 조회 (MultiIdLoader)
+    // ordered: true면 ids 순서대로, 없는 id 자리는 null
+    List<Team> findAllById(List<Long> ids, boolean ordered);
+}
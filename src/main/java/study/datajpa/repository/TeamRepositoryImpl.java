@@ -0,0 +1,19 @@
+package study.datajpa.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Team;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TeamRepositoryImpl implements TeamRepositoryCustom {
+
+    private final MultiIdLoader multiIdLoader;
+
+    @Override
+    public List<Team> findAllById(List<Long> ids, boolean ordered) {
+        return multiIdLoader.findAllById(Team.class, ids, ordered);
+    }
+}
@@ -0,0 +1,75 @@
+package study.datajpa.retry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.OptimisticLockException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 낙관적 락 충돌(OptimisticLockException)이 나면 작업 단위를 새 트랜잭션에서 다시 실행
+ * 재시도 사이에는 지수 백오프 + jitter (동시에 다시 부딪히지 않도록)
+ *
+ * WARN) 재시도마다 트랜잭션을 새로 시작해야 하므로 트랜잭션 밖에서 호출해야 함
+ */
+@Slf4j
+@Component
+public class OptimisticRetryExecutor {
+
+    private final TransactionTemplate tx;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public OptimisticRetryExecutor(PlatformTransactionManager transactionManager,
+                                   @Value("${datajpa.retry.max-attempts:5}") int maxAttempts,
+                                   @Value("${datajpa.retry.initial-backoff:10ms}") Duration initialBackoff,
+                                   @Value("${datajpa.retry.max-backoff:500ms}") Duration maxBackoff) {
+        this.tx = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("OptimisticRetryExecutor는 트랜잭션 밖에서 호출해야 합니다.");
+        }
+        long backoff = initialBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return tx.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("낙관적 락 충돌, 재시도 {}/{}", attempt, maxAttempts);
+                sleep(backoff + ThreadLocalRandom.current().nextLong(backoff + 1));
+                backoff = Math.min(backoff * 2, maxBackoffMillis);
+            }
+        }
+    }
+
+    public void run(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재시도 대기 중 인터럽트", e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package study.datajpa.sql;
+
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+public class NPlusOneDetectedException extends RuntimeException {
+    private final Map<String, Integer> suspects;
+
+    public NPlusOneDetectedException(int threshold, Map<String, Integer> suspects) {
+        super("같은 모양의 쿼리가 " + threshold + "번 넘게 실행됨(N+1 의심): " + suspects);
+        this.suspects = suspects;
+    }
+}
@@ -0,0 +1,50 @@
+package study.datajpa.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 요청 하나 동안 실행된 SQL을 세서 N+1 의심되면 로그로 남김 (datajpa.sql.fail-on-n-plus-one=true 이면 예외)
+ * 요청마다 비용이 있으므로 datajpa.sql.count-requests=true 일 때만 등록 (monitoring 프로필)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "datajpa.sql.count-requests", havingValue = "true")
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    private final SqlStatementCounter counter;
+    private final boolean failOnDetection; // true: 로그 대신 예외 (테스트용)
+
+    public SqlStatementCountFilter(SqlStatementCounter counter,
+                                   @Value("${datajpa.sql.fail-on-n-plus-one:false}") boolean failOnDetection) {
+        this.counter = counter;
+        this.failOnDetection = failOnDetection;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (SqlStatementCounter.Scope scope = counter.open()) {
+            filterChain.doFilter(request, response);
+
+            if (failOnDetection) {
+                scope.verify();
+                return;
+            }
+            Map<String, Integer> suspects = scope.suspects();
+            if (!suspects.isEmpty()) {
+                log.warn("N+1 의심 {} {} (전체 SQL {}건): {}", request.getMethod(), request.getRequestURI(), scope.total(), suspects);
+            }
+        }
+    }
+}
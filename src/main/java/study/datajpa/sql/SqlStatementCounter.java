@@ -0,0 +1,146 @@
+package study.datajpa.sql;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 실행된 SQL을 스레드(요청/트랜잭션) 단위로 세는 p6spy 리스너
+ * 같은 모양의 쿼리가 threshold 보다 많이 실행되면 N+1 의심
+ *
+ * try (SqlStatementCounter.Scope scope = counter.open()) {
+ *     ...
+ *     scope.verify(); // N+1 이면 NPlusOneDetectedException
+ * }
+ * 기본은 쿼리 모양별 건수만 셈 - 파라미터 값이 들어간 SQL 문자열은 recordStatements(max) 로 요청한 scope만 max 건까지 보관
+ */
+@Component
+public class SqlStatementCounter extends SimpleJdbcEventListener {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern NUMBER = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern STRING = Pattern.compile("'[^']*'");
+    private static final Pattern IN_LIST = Pattern.compile("in \\(\\?(?:, ?\\?)*\\)");
+
+    private final ThreadLocal<Scope> current = new ThreadLocal<>();
+    private final int defaultThreshold;
+
+    public SqlStatementCounter(@Value("${datajpa.sql.same-shape-threshold:10}") int defaultThreshold) {
+        this.defaultThreshold = defaultThreshold;
+    }
+
+    public Scope open() {
+        return open(defaultThreshold);
+    }
+
+    public Scope open(int threshold) {
+        Scope scope = new Scope(threshold, current.get());
+        current.set(scope);
+        return scope;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        Scope scope = current.get();
+        if (scope == null) {
+            return;
+        }
+        String shape = shapeOf(statementInformation.getSql());
+        String sqlWithValues = null; // 파라미터 값 포맷팅은 보관하는 scope가 있을 때만
+        for (; scope != null; scope = scope.parent) {
+            scope.count(shape);
+            if (scope.needsStatement()) {
+                if (sqlWithValues == null) {
+                    sqlWithValues = statementInformation.getSqlWithValues();
+                }
+                scope.statements.add(sqlWithValues);
+            }
+        }
+    }
+
+    // 파라미터 값, IN 목록 길이, 공백 차이는 같은 쿼리로 봄
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ").toLowerCase();
+        shape = STRING.matcher(shape).replaceAll("?");
+        shape = NUMBER.matcher(shape).replaceAll("?");
+        return IN_LIST.matcher(shape).replaceAll("in (?)");
+    }
+
+    public class Scope implements AutoCloseable {
+        private final int threshold;
+        private final Scope parent;
+        private final Map<String, Integer> counts = new LinkedHashMap<>();
+        private final List<String> statements = new ArrayList<>();
+        private int maxStatements; // 0: SQL 문자열 보관 X
+        private int total;
+
+        private Scope(int threshold, Scope parent) {
+            this.threshold = threshold;
+            this.parent = parent;
+        }
+
+        // 실행된 SQL(파라미터 값 포함)을 처음 maxStatements 건까지 보관 (테스트, EXPLAIN 확인용)
+        public Scope recordStatements(int maxStatements) {
+            this.maxStatements = maxStatements;
+            return this;
+        }
+
+        private void count(String shape) {
+            counts.merge(shape, 1, Integer::sum);
+            total++;
+        }
+
+        private boolean needsStatement() {
+            return statements.size() < maxStatements;
+        }
+
+        public int total() {
+            return total;
+        }
+
+        // 실행된 SQL (파라미터 값 포함, 실행 순서) - recordStatements 로 요청한 만큼만
+        public List<String> statements() {
+            return Collections.unmodifiableList(statements);
+        }
+
+        public Map<String, Integer> countsByShape() {
+            return Collections.unmodifiableMap(counts);
+        }
+
+        // threshold 보다 많이 실행된 쿼리 모양 (없으면 빈 Map)
+        public Map<String, Integer> suspects() {
+            Map<String, Integer> suspects = new LinkedHashMap<>();
+            counts.forEach((shape, count) -> {
+                if (count > threshold) {
+                    suspects.put(shape, count);
+                }
+            });
+            return suspects;
+        }
+
+        public void verify() {
+            Map<String, Integer> suspects = suspects();
+            if (!suspects.isEmpty()) {
+                throw new NPlusOneDetectedException(threshold, suspects);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                current.remove();
+            } else {
+                current.set(parent);
+            }
+        }
+    }
+}
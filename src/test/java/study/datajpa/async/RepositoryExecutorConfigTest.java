@@ -0,0 +1,85 @@
+package study.datajpa.async;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// repositoryExecutor 동시 실행/대기 제한, 컨텍스트 종료시 shutdown
+class RepositoryExecutorConfigTest {
+
+    // 가상 스레드 모드 (JDK 11에서도 돌도록 캐시 스레드 풀을 대신 사용)
+    @Test
+    public void rejectsWhenRunningAndWaitingExceedLimit() throws Exception {
+        // given - 동시 실행 1개, 대기 1개
+        RepositoryExecutorConfig.BoundedExecutor executor = new RepositoryExecutorConfig.BoundedExecutor(
+                Executors.newCachedThreadPool(), 1, 1, Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        AtomicInteger completed = new AtomicInteger();
+        Runnable blocking = () -> {
+            try {
+                release.await();
+                completed.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.countDown();
+            }
+        };
+
+        // when
+        executor.execute(blocking); // 실행
+        executor.execute(blocking); // 대기
+
+        // then
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(blocking)); // 50ms 기다려도 자리 없음 -> 거절
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(completed.get()).isEqualTo(2);
+
+        executor.execute(() -> { }); // 자리가 다시 생김
+        executor.destroy();
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { })); // 종료 후 거절
+    }
+
+    @Test
+    public void pooledExecutorRejectsWhenQueueFullAndShutsDownWithContext() {
+        // given - 스레드 1개, 대기열 1개
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test",
+                Map.of("datajpa.async.threads", 1, "datajpa.async.queue-capacity", 1)));
+        context.register(RepositoryExecutorConfig.class);
+        context.refresh();
+        ThreadPoolTaskExecutor executor = context.getBean("repositoryExecutor", ThreadPoolTaskExecutor.class);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocking = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        // when
+        executor.execute(blocking); // 실행
+        executor.execute(blocking); // 대기열
+
+        // then
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(blocking));
+        release.countDown();
+        context.close();
+        assertThat(executor.getThreadPoolExecutor().isShutdown()).isTrue(); // 컨텍스트 종료시 shutdown
+    }
+}
@@ -0,0 +1,179 @@
+package study.datajpa.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import study.datajpa.audit.AuditClock;
+import study.datajpa.cache.MemberResponseCache;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.sql.SqlStatementCounter;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 응답 캐시 무효화는 커밋 후에 일어남 -> 테스트 트랜잭션(롤백) 없이 데이터를 커밋하고 끝나면 직접 삭제
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired MemberRepository memberRepository;
+    @Autowired MemberResponseCache memberResponseCache;
+    @Autowired SqlStatementCounter sqlStatementCounter;
+
+    Member member;
+
+    @BeforeEach
+    public void setUp() {
+        member = memberRepository.save(new Member("cachedMember", 10));
+        memberResponseCache.invalidate();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        memberRepository.deleteById(member.getId());
+    }
+
+    @Test
+    public void responseCacheAndEtag() throws Exception {
+        // 첫 요청 - 조회 후 캐시
+        String etag = mockMvc.perform(get("/members/{id}", member.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().string("cachedMember"))
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            // 캐시 히트 - 쿼리 없이 같은 응답
+            mockMvc.perform(get("/members/{id}", member.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string("cachedMember"));
+            // ETag 일치 - 304
+            mockMvc.perform(get("/members/{id}", member.getId()).header("If-None-Match", etag))
+                    .andExpect(status().isNotModified());
+            mockMvc.perform(get("/members2/{id}", member.getId())); // 첫 요청은 조회
+            mockMvc.perform(get("/members2/{id}", member.getId()).header("If-None-Match", etag))
+                    .andExpect(status().isNotModified());
+
+            assertThat(scope.total()).isEqualTo(1); // members2 첫 요청에서 ProjectedMemberArgumentResolver 의 프로젝션 조회 1번 (쿼리라서 2차 캐시 사용 X)
+        }
+
+        // 수정 -> 커밋 후 무효화 -> 다시 조회, ETag 바뀜
+        member.setUsername("renamedMember");
+        member = memberRepository.save(member);
+        mockMvc.perform(get("/members/{id}", member.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string("renamedMember"));
+    }
+
+    @Test
+    public void etagChangesOnEveryUpdateWithinSameAuditTime() throws Exception {
+        // 수정 시각이 같아도 (고정 시계) 수정할 때마다 @Version 이 올라가므로 ETag 가 바뀜
+        try (AuditClock.Restore restore = AuditClock.use(Clock.fixed(Instant.now(), ZoneId.systemDefault()))) {
+            String first = etag(member.getId());
+            member.setUsername("renamedMember1");
+            member = memberRepository.save(member);
+            String second = etag(member.getId());
+            member.setUsername("renamedMember2");
+            member = memberRepository.save(member);
+            String third = etag(member.getId());
+
+            assertThat(first).isNotEqualTo(second);
+            assertThat(second).isNotEqualTo(third);
+        }
+    }
+
+    private String etag(Long id) throws Exception {
+        return mockMvc.perform(get("/members/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+    }
+
+    @Test
+    public void listCacheKeyedByPageable() throws Exception {
+        mockMvc.perform(get("/members").param("page", "0").param("size", "5"))
+                .andExpect(status().isOk());
+
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            mockMvc.perform(get("/members").param("size", "5").param("page", "0")) // 파라미터 순서만 다름 -> 히트
+                    .andExpect(status().isOk());
+            assertThat(scope.total()).isEqualTo(0);
+
+            mockMvc.perform(get("/members").param("page", "1").param("size", "5")) // 다른 페이지 -> 미스
+                    .andExpect(status().isOk());
+            assertThat(scope.total()).isGreaterThan(0);
+        }
+    }
+
+    @Test
+    public void projectedMember() throws Exception {
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open().recordStatements(10)) {
+            mockMvc.perform(get("/members2/{id}", member.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string("cachedMember"));
+
+            // 엔티티 전체가 아니라 Projection 컬럼만 조회
+            assertThat(scope.statements()).hasSize(1);
+            assertThat(scope.statements().get(0)).contains("username").doesNotContain("created_by", "team_id");
+        }
+    }
+
+    @Test
+    public void missingMemberIsNotFound() throws Exception {
+        mockMvc.perform(get("/members/{id}", -1L)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/members2/{id}", -1L)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/members2/{id}", "abc")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void cursorParameters() throws Exception {
+        mockMvc.perform(get("/members/cursor").param("size", "0")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/members/cursor").param("size", "-1")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/members/cursor").param("cursor", "not-a-cursor")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/members/cursor").param("size", "1000000")).andExpect(status().isOk()); // 최대값으로 제한
+    }
+
+    @Test
+    public void responseCacheIsBoundedLru() {
+        MemberResponseCache cache = new MemberResponseCache(new ObjectMapper(), Duration.ofMinutes(1), 2);
+        MockHttpServletRequest page0 = listRequest("0");
+        MockHttpServletRequest page1 = listRequest("1");
+        MockHttpServletRequest page2 = listRequest("2");
+
+        cache.respond(page0, () -> cache.text("page0", "\"0\""));
+        cache.respond(page1, () -> cache.text("page1", "\"1\""));
+        cache.get(page0); // page0 최근 사용 -> page1이 가장 오래됨
+        cache.respond(page2, () -> cache.text("page2", "\"2\""));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(page0)).isPresent();
+        assertThat(cache.get(page1)).isEmpty();
+
+        // 키에 없는 파라미터는 무시 -> 같은 응답, 새 항목 X
+        MockHttpServletRequest withNoise = listRequest("0");
+        withNoise.addParameter("x", "1");
+        assertThat(cache.get(withNoise)).isPresent();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    private static MockHttpServletRequest listRequest(String page) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/members");
+        request.addParameter("page", page);
+        return request;
+    }
+}
@@ -0,0 +1,80 @@
+package study.datajpa.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 메모리 H2 3개를 primary, replica 2개로 사용
+class ReplicaRoutingDataSourceTest {
+
+    Map<String, Duration> lags = new HashMap<>();
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate readWriteTx;
+    TransactionTemplate readOnlyTx;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("primary");
+        DataSource replica0 = h2("replica0");
+        DataSource replica1 = h2("replica1");
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, Arrays.asList(replica0, replica1),
+                ReplicaLoadBalancer.roundRobin(),
+                key -> lags.getOrDefault(key, Duration.ZERO),
+                Duration.ofSeconds(1));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWriteTx = new TransactionTemplate(transactionManager);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+    }
+
+    // DB마다 자기 이름을 저장해두고 어느 DB에서 읽었는지 확인
+    private static DataSource h2(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists db_name (name varchar(20))");
+        jdbcTemplate.update("delete from db_name");
+        jdbcTemplate.update("insert into db_name values (?)", name);
+        return dataSource;
+    }
+
+    private String currentDb(TransactionTemplate tx) {
+        return tx.execute(status -> jdbcTemplate.queryForObject("select name from db_name", String.class));
+    }
+
+    @Test
+    public void routing() {
+        assertThat(currentDb(readWriteTx)).isEqualTo("primary");
+        assertThat(jdbcTemplate.queryForObject("select name from db_name", String.class)).isEqualTo("primary"); // 트랜잭션 밖
+
+        // 읽기 전용은 replica를 번갈아가며
+        assertThat(Arrays.asList(currentDb(readOnlyTx), currentDb(readOnlyTx)))
+                .containsExactlyInAnyOrder("replica0", "replica1");
+    }
+
+    @Test
+    public void lagFallback() {
+        lags.put("replica-0", Duration.ofSeconds(10));
+        assertThat(currentDb(readOnlyTx)).isEqualTo("replica1");
+        assertThat(currentDb(readOnlyTx)).isEqualTo("replica1");
+
+        // 모든 replica가 지연되면 primary
+        lags.put("replica-1", Duration.ofSeconds(10));
+        assertThat(currentDb(readOnlyTx)).isEqualTo("primary");
+    }
+}
@@ -4,14 +4,26 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.audit.AuditClock;
+import study.datajpa.audit.AuditorContext;
 import study.datajpa.repository.MemberRepository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -25,6 +37,9 @@ class MemberTest {
     @Autowired
     MemberRepository memberRepository;
 
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
     @Test
     public void testEntity(){
         Team teamA = new Team("teamA");
@@ -78,4 +93,79 @@ class MemberTest {
         System.out.println("findMember.getLastModifiedBy = " + findMember.getLastModifiedBy());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void auditorResolvedOncePerUnitOfWork() throws Exception {
+        // given
+        List<Member> members = Arrays.asList(new Member("audit1"), new Member("audit2"), new Member("audit3"));
+
+        // when
+        try (AuditorContext.Scope scope = AuditorContext.open("batchUser")) {
+            memberRepository.saveAllBatched(members, 2);
+            memberRepository.save(new Member("audit4"));
+        }
+        em.flush();
+        em.clear();
+
+        // then
+        List<Member> found = memberRepository.findByNames(Arrays.asList("audit1", "audit2", "audit3", "audit4"));
+        assertThat(found).hasSize(4);
+        assertThat(found).allMatch(member -> "batchUser".equals(member.getCreatedBy()));
+        // 배치로 저장한 회원은 같은 등록일
+        assertThat(found.stream()
+                .filter(member -> !member.getUsername().equals("audit4"))
+                .map(Member::getCreatedDate)
+                .distinct()).hasSize(1);
+    }
+
+    @Test
+    @Rollback
+    public void auditClockPinnedPerTransaction() {
+        // given - 호출할 때마다 1초씩 가는 시계 (고정 시계면 트랜잭션과 상관없이 항상 같은 값)
+        TickingClock clock = new TickingClock(LocalDateTime.of(2022, 1, 1, 12, 0).atZone(ZoneId.systemDefault()).toInstant());
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try (AuditClock.Restore restore = AuditClock.use(clock)) {
+            // when
+            Member outer1 = memberRepository.save(new Member("clock1"));
+            Member inner = requiresNew.execute(status -> {
+                Member member = memberRepository.save(new Member("clock2"));
+                status.setRollbackOnly(); // 시각만 확인 - 커밋하지 않음
+                return member;
+            });
+            Member outer2 = memberRepository.save(new Member("clock3"));
+
+            // then
+            assertThat(outer2.getCreatedDate()).isEqualTo(outer1.getCreatedDate()); // 한 트랜잭션은 같은 시각 (시계는 계속 감)
+            assertThat(inner.getCreatedDate()).isAfter(outer1.getCreatedDate()); // REQUIRES_NEW 는 자기 시각
+            assertThat(AuditClock.now()).isEqualTo(outer1.getCreatedDate()); // 재개된 바깥 트랜잭션은 원래 시각으로
+        }
+    }
+
+    static class TickingClock extends Clock {
+        private final AtomicLong millis;
+
+        TickingClock(Instant start) {
+            this.millis = new AtomicLong(start.toEpochMilli());
+        }
+
+        @Override
+        public long millis() {
+            return millis.addAndGet(1000);
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import study.datajpa.entity.Member;
+import study.datajpa.sql.SqlStatementCounter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 비동기 조회는 작업 스레드의 별도 트랜잭션에서 실행 -> 테스트 데이터는 커밋하고 끝나면 직접 삭제
+@SpringBootTest
+class AsyncMemberRepositoryTest {
+
+    static final String USERNAME = "asyncMember";
+    static final int MEMBER_COUNT = 100;
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired AsyncMemberRepository asyncMemberRepository;
+    @Autowired SqlStatementCounter sqlStatementCounter;
+    @Autowired @Qualifier("repositoryExecutor") ThreadPoolTaskExecutor repositoryExecutor;
+
+    List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            members.add(new Member(USERNAME, i));
+        }
+        memberRepository.saveAll(members).forEach(m -> ids.add(m.getId()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        memberRepository.deleteAllByIdInBatch(ids);
+    }
+
+    @Test
+    public void asyncFindersMatchSync() {
+        // given
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by("id"));
+
+        // when
+        CompletableFuture<Optional<Member>> byId = asyncMemberRepository.findByIdAsync(ids.get(0));
+        CompletableFuture<List<Member>> byUsername = asyncMemberRepository.findByUsernameAsync(USERNAME);
+        CompletableFuture<Page<Member>> page = asyncMemberRepository.findPageByAgeAsync(10, pageRequest);
+        CompletableFuture<Page<Member>> all = asyncMemberRepository.findAllAsync(pageRequest, CountStrategy.EXACT);
+
+        // then - 동기 호출과 같은 결과
+        assertThat(byId.join()).get().extracting(Member::getId).isEqualTo(ids.get(0));
+        assertThat(byUsername.join()).extracting("id")
+                .containsExactlyInAnyOrderElementsOf(memberRepository.findByUsername(USERNAME).stream().map(Member::getId).collect(Collectors.toList()));
+        assertThat(page.join().getContent()).extracting("id")
+                .containsExactlyElementsOf(memberRepository.findPageByAge(10, pageRequest).map(Member::getId).getContent());
+        assertThat(all.join().getTotalElements()).isEqualTo(memberRepository.findAll(pageRequest, CountStrategy.EXACT).getTotalElements());
+    }
+
+    @Test
+    public void findByNamesChunkedInParallel() {
+        // given
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            members.add(new Member("parallel" + i, i));
+        }
+        memberRepository.saveAll(members).forEach(m -> ids.add(m.getId()));
+        List<String> names = Arrays.asList("parallel9", "parallel0", "parallel5", "parallel3", "parallel7", "parallel1");
+
+        // when - 트랜잭션 밖: 청크(2개씩)를 repositoryExecutor에서 동시에 조회
+        List<Member> sequential;
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            sequential = memberRepository.findByNamesChunked(names, 2, false);
+            assertThat(scope.total()).isEqualTo(3); // 호출한 스레드에서 청크 3개 조회
+        }
+        long tasksBefore = repositoryExecutor.getThreadPoolExecutor().getTaskCount();
+        List<Member> parallel;
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            parallel = memberRepository.findByNamesChunked(names, 2, true);
+            assertThat(scope.total()).isEqualTo(0); // 호출한 스레드에서는 쿼리 없음 (스코프는 스레드 단위)
+        }
+
+        // then - 같은 결과, 청크마다 executor 작업 1개
+        assertThat(parallel).extracting("username").containsExactlyElementsOf(names);
+        assertThat(parallel).extracting("id").containsExactlyElementsOf(sequential.stream().map(Member::getId).collect(Collectors.toList()));
+        assertThat(repositoryExecutor.getThreadPoolExecutor().getTaskCount() - tasksBefore).isGreaterThanOrEqualTo(3);
+    }
+}
@@ -4,13 +4,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import study.datajpa.entity.Item;
+import study.datajpa.sql.SqlStatementCounter;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
 class ItemRepositoryTest {
 
     @Autowired  ItemRepository itemRepository;
+    @Autowired  SqlStatementCounter sqlStatementCounter;
 
     @Test
     public void save() throws Exception {
@@ -18,4 +24,26 @@ class ItemRepositoryTest {
         itemRepository.save(item);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void upsertAll() throws Exception {
+        // given
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            items.add(new Item("upsert" + i));
+        }
+
+        // when
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            int inserted = itemRepository.upsertAll(items, 100);
+            int reinserted = itemRepository.upsertAll(items, 100); // 이미 있는 id 다시 저장
+
+            // then
+            assertThat(inserted).isEqualTo(1000);
+            assertThat(reinserted).isEqualTo(0); // 건너뛴 id는 세지 않음
+            // 1000건 / batchSize 100 = 10번 x 2회 (batch는 executeBatch 1번 = 1건), row 마다 select 없음
+            assertThat(scope.total()).isEqualTo(20);
+            assertThat(scope.countsByShape().keySet()).allMatch(sql -> sql.startsWith("merge into item"));
+        }
+        assertThat(itemRepository.findById("upsert999")).isPresent();
+    }
+}
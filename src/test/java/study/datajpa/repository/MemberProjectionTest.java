@@ -0,0 +1,123 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.sql.SqlStatementCounter;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 같은 데이터(회원 1000명, 팀 10개)로 프로젝션 방식별 쿼리 수 확인 (시간 비교는 src/jmh MemberRepositoryBenchmark)
+@SpringBootTest
+@Transactional
+class MemberProjectionTest {
+
+    static final int MEMBER_COUNT = 1000;
+    static final int TEAM_COUNT = 10;
+    static final String USERNAME = "projectionMember";
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired SqlStatementCounter sqlStatementCounter;
+    @PersistenceContext EntityManager em;
+
+    @Test
+    public void projections() {
+        // given
+        persistMembers();
+
+        Map<String, Supplier<Collection<?>>> styles = new LinkedHashMap<>();
+        styles.put("UsernameOnly (open, SpEL)", () -> memberRepository.findProjectionByUsername(USERNAME));
+        styles.put("UsernameOnlyDto", () -> memberRepository.findClassProjectionByUsername(USERNAME));
+        styles.put("NestedClosedProjection", () -> memberRepository.findDynamicProjectionByUsername(USERNAME, NestedClosedProjection.class));
+        styles.put("findMemberDto (JPQL new)", () -> memberRepository.findMemberDto());
+
+        // when, then - 회원 수와 상관없이 조회 1번 (+ 중첩 프로젝션의 팀 배치 로딩 1번), N+1 없음
+        styles.forEach((name, query) -> {
+            try (SqlStatementCounter.Scope scope = sqlStatementCounter.open(1)) {
+                int rows = query.get().size();
+                em.clear();
+
+                assertThat(rows).as(name).isGreaterThanOrEqualTo(MEMBER_COUNT);
+                assertThat(scope.total()).as(name).isLessThanOrEqualTo(2);
+                scope.verify();
+            }
+        });
+    }
+
+    @Test
+    public void nativeProjectionSingleQueryWithoutCrossJoin() {
+        // given
+        persistMembers();
+        long total = memberRepository.count();
+        em.clear();
+
+        // when
+        List<MemberProjection> content;
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            content = memberRepository.findByNativeProjection(PageRequest.of(0, (int) total + 10)).getContent(); // 한 페이지에 다 들어옴 -> count 쿼리 X
+            assertThat(scope.total()).isEqualTo(1);
+        }
+
+        // then - on 절 없는 cross join 이면 회원 수 x 팀 수 만큼 나옴
+        assertThat(content).hasSize((int) total);
+        assertThat(content).filteredOn(row -> USERNAME.equals(row.getUsername()))
+                .hasSize(MEMBER_COUNT)
+                .allMatch(row -> row.getTeamName().startsWith("projectionTeam"));
+    }
+
+    private void persistMembers() {
+        Team[] teams = new Team[TEAM_COUNT];
+        for (int i = 0; i < teams.length; i++) {
+            teams[i] = new Team("projectionTeam" + i);
+            em.persist(teams[i]);
+        }
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            em.persist(new Member(USERNAME, i, teams[i % teams.length]));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    // 목록 API 한 페이지 - 엔티티 조회 후 Dto 변환(기존) vs Dto로 바로 조회 (할당량 비교는 src/jmh listEntityThenMap/listDto)
+    @Test
+    public void listPageDto() {
+        // given
+        Team team = new Team("allocationTeam");
+        em.persist(team);
+        for (int i = 0; i < 100; i++) {
+            em.persist(new Member("allocationMember" + i, i, team));
+        }
+        em.flush();
+        em.clear();
+        PageRequest pageRequest = PageRequest.of(0, 12, Sort.by(Sort.Direction.DESC, "username"));
+
+        // when
+        Page<MemberDto> mapped = memberRepository.findAll(pageRequest, CountStrategy.EXACT).map(MemberDto::new);
+        em.clear();
+        Page<MemberDto> selected;
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open().recordStatements(1)) {
+            selected = memberRepository.findDtoAll(pageRequest, CountStrategy.EXACT);
+            // then - Dto에 필요한 컬럼만 조회 (영속성 컨텍스트 등록, 스냅샷 X)
+            assertThat(scope.statements().get(0)).doesNotContain("created_by", "last_modified_date");
+        }
+
+        // 같은 페이지, 같은 순서
+        assertThat(selected.getContent()).extracting("id")
+                .containsExactlyElementsOf(mapped.map(MemberDto::getId).getContent());
+    }
+}
@@ -1,33 +1,45 @@
 package study.datajpa.repository;
 
 import org.assertj.core.api.Assertions;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.cache.CacheStats;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
 import study.datajpa.entity.Team;
+import study.datajpa.sql.NPlusOneDetectedException;
+import study.datajpa.sql.SqlStatementCounter;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "datajpa.statistics.enabled=true") // 2차 캐시, 쿼리 플랜 통계 확인
 @Transactional
 @Rollback(value = false)
 class MemberRepositoryTest {
 
     @Autowired MemberRepository memberRepository;
     @Autowired TeamRepository teamRepository;
+    @Autowired CacheStats cacheStats;
+    @Autowired SqlStatementCounter sqlStatementCounter;
+    @Autowired PageCountSupport pageCountSupport;
     @PersistenceContext EntityManager em;
 
     @Test
@@ -418,4 +430,470 @@ class MemberRepositoryTest {
             System.out.println("memberProjection = " + memberProjection.getTeamName());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @Rollback // 클래스는 @Rollback(false) - 대량/검증용 데이터를 커밋하면 다른 테스트의 건수 검증이 깨짐
+    public void cursorPaging() {
+        // given
+        memberRepository.save(new Member("cursor1", 10));
+        memberRepository.save(new Member("cursor2", 10));
+        memberRepository.save(new Member("cursor3", 10));
+        memberRepository.save(new Member("cursor4", 10));
+        memberRepository.save(new Member("cursor5", 10));
+        em.flush();
+        em.clear();
+
+        // when
+        // cursor5 뒤에서부터 2개씩 (username desc, id desc)
+        MemberCursor start = new MemberCursor("cursor5", Long.MAX_VALUE);
+        Slice<Member> first = memberRepository.findByCursor(start, 2);
+        Member last = first.getContent().get(first.getNumberOfElements() - 1);
+        MemberCursor next = MemberCursor.decode(new MemberCursor(last.getUsername(), last.getId()).encode());
+        Slice<Member> second = memberRepository.findByCursor(next, 2);
+
+        // then
+        assertThat(first.getContent()).extracting("username").containsExactly("cursor5", "cursor4");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).extracting("username").containsExactly("cursor3", "cursor2");
+        assertThat(second.hasNext()).isTrue();
+    }
+
+    @Test
+    @Rollback
+    public void pagingCountStrategy() {
+        // given
+        memberRepository.save(new Member("member1", 10));
+        memberRepository.save(new Member("member2", 10));
+        memberRepository.save(new Member("member3", 10));
+        em.flush();
+        em.clear();
+        long total = memberRepository.count();
+
+        PageRequest pageRequest = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "username"));
+        PageRequest bigPage = PageRequest.of(0, (int) total + 10);
+        pageCountSupport.evictAll(); // 이 테스트 트랜잭션은 커밋하지 않음 -> 다른 테스트가 채운 count 정리
+
+        // when
+        Page<Member> exact = memberRepository.findAll(pageRequest, CountStrategy.EXACT);
+        Page<Member> cached = memberRepository.findAll(pageRequest, CountStrategy.CACHED);
+        Page<Member> skipped;
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            skipped = memberRepository.findPageByAge(10, bigPage, CountStrategy.EXACT); // 한 페이지에 다 들어옴 -> count 쿼리 생략
+            assertThat(scope.total()).isEqualTo(1);
+        }
+        Page<MemberProjection> estimated = memberRepository.findByNativeProjection(pageRequest, CountStrategy.ESTIMATED);
+
+        // then
+        assertThat(exact.getContent().size()).isEqualTo(2);
+        assertThat(exact.getTotalElements()).isEqualTo(total);
+        assertThat(cached.getTotalElements()).isEqualTo(total);
+        assertThat(skipped.getTotalElements()).isEqualTo(total);
+        assertThat(estimated.getContent().size()).isEqualTo(2);
+        assertThat(estimated.getTotalElements()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // count 캐시는 커밋 후 무효화
+    public void countCacheEvictedOnMemberCommit() {
+        // given
+        Member first = memberRepository.save(new Member("countCache1", 10));
+        Member second = null;
+        try {
+            PageRequest pageRequest = PageRequest.of(0, 1); // 한 페이지에 다 안 들어옴 -> count 쿼리 (캐시)
+            long before = memberRepository.findAll(pageRequest, CountStrategy.CACHED).getTotalElements();
+
+            // when
+            second = memberRepository.save(new Member("countCache2", 10));
+
+            // then
+            assertThat(memberRepository.findAll(pageRequest, CountStrategy.CACHED).getTotalElements()).isEqualTo(before + 1);
+            assertThat(pageCountSupport.size()).isEqualTo(1);
+        } finally {
+            memberRepository.deleteById(first.getId());
+            if (second != null) {
+                memberRepository.deleteById(second.getId());
+            }
+        }
+    }
+
+    @Test
+    public void estimateSqlPerDatabase() {
+        assertThat(MemberRepositoryImpl.estimateSqlFor("H2")).contains("row_count_estimate");
+        assertThat(MemberRepositoryImpl.estimateSqlFor("PostgreSQL")).contains("pg_class");
+        assertThat(MemberRepositoryImpl.estimateSqlFor("MySQL")).contains("table_rows");
+        assertThat(MemberRepositoryImpl.estimateSqlFor("MariaDB")).contains("table_rows");
+        assertThat(MemberRepositoryImpl.estimateSqlFor("Oracle")).isNull(); // 지원하지 않는 DB -> 정확한 count
+    }
+
+    @Test
+    @Rollback
+    public void saveAllBatched() {
+        // given
+        int rows = 1_000;
+        int batchSize = 100;
+        List<Member> before = new ArrayList<>();
+        List<Member> batched = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            before.add(new Member("saveAll" + i, i % 100));
+            batched.add(new Member("batched" + i, i % 100));
+        }
+        Member managed = memberRepository.save(new Member("batchedCaller", 10)); // 호출한 쪽 트랜잭션에서 관리 중인 엔티티
+        em.flush();
+
+        // when, then (처리량 비교는 src/jmh MemberRepositoryBenchmark saveAll/saveAllBatched)
+        // 1) 기존 saveAll: persist 마다 개별 insert
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open(Integer.MAX_VALUE)) {
+            memberRepository.saveAll(before);
+            em.flush();
+            assertThat(insertCount(scope)).isEqualTo(rows);
+        }
+
+        // 2) saveAllBatched: pooled 시퀀스 + JDBC batch + 배치마다 flush/detach -> insert 실행은 배치 수만큼
+        int saved;
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open(Integer.MAX_VALUE)) {
+            saved = memberRepository.saveAllBatched(batched, batchSize);
+            assertThat(insertCount(scope)).isEqualTo(rows / batchSize);
+        }
+
+        assertThat(saved).isEqualTo(rows);
+        assertThat(batched.get(rows - 1).getId()).isNotNull();
+        assertThat(em.contains(batched.get(0))).isFalse(); // 저장한 배치는 준영속 상태
+        assertThat(em.contains(managed)).isTrue(); // 호출한 쪽 엔티티는 그대로 (em.clear() X)
+    }
+
+    @Test
+    @Rollback
+    public void streamAll() {
+        // given
+        memberRepository.save(new Member("stream1", 10));
+        memberRepository.save(new Member("stream2", 20));
+        em.flush();
+        em.clear();
+        em.getEntityManagerFactory().getCache().evict(Member.class);
+
+        // when
+        List<Member> streamed = new ArrayList<>();
+        try (Stream<Member> members = memberRepository.streamAll(100)) {
+            members.filter(member -> member.getUsername().startsWith("stream"))
+                    .forEach(streamed::add);
+        }
+
+        // then
+        assertThat(streamed).extracting("username").contains("stream1", "stream2");
+        assertThat(streamed).noneMatch(em::contains); // 조회하면서 detach 되어 영속성 컨텍스트에 남지 않음
+        assertThat(streamed).noneMatch(member -> em.getEntityManagerFactory().getCache().contains(Member.class, member.getId())); // 2차 캐시도 채우지 않음
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 컨트롤러처럼 호출한 쪽에 트랜잭션이 없을 때
+    public void forEachMemberWithoutCallerTransaction() {
+        // given
+        Member member = memberRepository.save(new Member("forEach1", 10));
+        try {
+            // when
+            List<String> usernames = new ArrayList<>();
+            long count = memberRepository.forEachMember(100, m -> usernames.add(m.getUsername()));
+
+            // then - 스트림을 다 읽을 때까지 forEachMember의 트랜잭션 안
+            assertThat(count).isEqualTo(usernames.size());
+            assertThat(usernames).contains("forEach1");
+        } finally {
+            memberRepository.deleteById(member.getId());
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 청크마다 별도 트랜잭션으로 커밋하므로 테스트 트랜잭션 X
+    public void bulkAgePlusChunked() {
+        // given
+        Member m1 = memberRepository.save(new Member("chunk1", 999));
+        Member m2 = memberRepository.save(new Member("chunk2", 1000));
+        Member m3 = memberRepository.save(new Member("chunk3", 1001));
+
+        // when
+        // 첫 청크(대상 중 첫 번째 m2 - m1은 대상 아님) 커밋 후 실패
+        List<BulkUpdateProgress> progresses = new ArrayList<>();
+        assertThrows(IllegalStateException.class, () ->
+                memberRepository.bulkAgePlusChunked(1000, 1, m1.getId() - 1, progress -> {
+                    progresses.add(progress);
+                    throw new IllegalStateException("장애 발생");
+                }));
+        // 마지막으로 커밋된 id 다음부터 재시작
+        long lastId = progresses.get(progresses.size() - 1).getLastId();
+        long resumed = memberRepository.bulkAgePlusChunked(1000, 1, lastId, progresses::add);
+
+        // then
+        try {
+            assertThat(resumed).isEqualTo(1);
+            assertThat(progresses).extracting("updatedInChunk").containsExactly(1, 1); // 대상 id로 청크 경계 -> 빈 청크 없음
+            assertThat(progresses).extracting("lastId").containsExactly(m2.getId(), m3.getId());
+            assertThat(memberRepository.findById(m1.getId()).get().getAge()).isEqualTo(999);
+            assertThat(memberRepository.findById(m2.getId()).get().getAge()).isEqualTo(1001);
+            assertThat(memberRepository.findById(m3.getId()).get().getAge()).isEqualTo(1002);
+        } finally {
+            memberRepository.deleteAllByIdInBatch(Arrays.asList(m1.getId(), m2.getId(), m3.getId())); // 테스트 트랜잭션 없이 커밋한 데이터 정리
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 2차 캐시는 커밋된 데이터만 공유
+    public void teamSecondLevelCache() {
+        // given
+        Team team = teamRepository.save(new Team("cachedTeam"));
+        Statistics statistics = cacheStats.statistics();
+        teamRepository.findById(team.getId()); // 캐시에 없으면 DB 조회 후 캐시에 저장
+        long hitBefore = statistics.getSecondLevelCacheHitCount();
+
+        // when
+        Team findTeam = teamRepository.findById(team.getId()).get(); // 새 영속성 컨텍스트 - 2차 캐시에서 조회
+
+        // then
+        try {
+            assertThat(findTeam.getName()).isEqualTo("cachedTeam");
+            assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThan(hitBefore);
+        } finally {
+            teamRepository.deleteById(team.getId());
+        }
+    }
+
+    @Test
+    @Rollback
+    public void detectNPlusOne() {
+        // given
+        for (int i = 1; i <= 3; i++) {
+            Team team = new Team("nPlusOneTeam" + i);
+            em.persist(team);
+            em.persist(new Member("nPlusOne" + i, 10, team));
+        }
+        em.flush();
+        em.clear();
+        List<String> names = Arrays.asList("nPlusOne1", "nPlusOne2", "nPlusOne3");
+
+        // when, then
+        // 1) 지연 로딩 team을 하나씩 초기화 -> team 조회 쿼리 3번
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open(2)) {
+            for (Member member : memberRepository.findByNames(names)) {
+                member.getTeam().getName();
+            }
+            assertThrows(NPlusOneDetectedException.class, scope::verify);
+        }
+        em.clear();
+
+        // 2) fetch join -> 쿼리 1번
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open(2)) {
+            for (Member member : memberRepository.findMemberFetchJoin()) {
+                member.getTeam();
+            }
+            scope.verify();
+            assertThat(scope.total()).isEqualTo(1);
+            assertThat(scope.statements()).isEmpty(); // 기본은 모양별 건수만 - SQL 문자열은 보관 X
+        }
+    }
+
+    @Test
+    @Rollback
+    public void compiledSearch() {
+        // given
+        Team teamA = new Team("searchTeam");
+        em.persist(teamA);
+        em.persist(new Member("search1", 0, teamA));
+        em.persist(new Member("search2", 0, teamA));
+        em.flush();
+        em.clear();
+
+        // when
+        MemberSearchCondition condition = new MemberSearchCondition("search1", "searchTeam");
+        List<Member> bySpec = memberRepository.findAll(MemberSpec.of(condition));
+        memberRepository.search(new MemberSearchCondition("search2", "searchTeam")); // 같은 조건 조합
+        Statistics statistics = cacheStats.statistics();
+        long planHitBefore = statistics.getQueryPlanCacheHitCount();
+        List<Member> compiled = memberRepository.search(condition);
+
+        // then
+        assertThat(compiled).extracting("id").containsExactlyElementsOf(
+                bySpec.stream().map(Member::getId).collect(Collectors.toList()));
+        assertThat(statistics.getQueryPlanCacheHitCount()).isGreaterThan(planHitBefore); // 같은 JPQL -> 하이버네이트 쿼리 플랜 재사용
+        assertThat(memberRepository.search(new MemberSearchCondition(null, "searchTeam"))).hasSize(2);
+
+        // 페이징 - Specification 경로와 같은 결과, 같은 전체 수
+        PageRequest pageRequest = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "username"));
+        MemberSearchCondition teamCondition = new MemberSearchCondition(null, "searchTeam");
+        Page<Member> page = memberRepository.search(teamCondition, pageRequest);
+        Page<Member> specPage = memberRepository.findAll(MemberSpec.of(teamCondition), pageRequest);
+        assertThat(page.getContent()).extracting("username").containsExactly("search2");
+        assertThat(page.getTotalElements()).isEqualTo(specPage.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    @Rollback
+    public void sliceDto() {
+        // given
+        Team team = new Team("sliceTeam");
+        em.persist(team);
+        for (int i = 0; i < 5; i++) {
+            em.persist(new Member("slice" + i, 93, team));
+        }
+        em.flush();
+        em.clear();
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username"));
+
+        // when
+        Slice<MemberDto> first;
+        Slice<MemberDto> last;
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            first = memberRepository.findSliceDtoByAge(93, pageRequest);
+            last = memberRepository.findSliceDtoByAge(93, pageRequest.next());
+            assertThat(scope.total()).isEqualTo(2); // count 쿼리 X
+        }
+
+        // then
+        assertThat(first.getContent()).extracting("username").containsExactly("slice4", "slice3", "slice2");
+        assertThat(first.getContent()).extracting("teamName").containsOnly("sliceTeam"); // 팀 이름까지 한 번에
+        assertThat(first.hasNext()).isTrue(); // size + 1 개 조회로 판단
+        assertThat(last.getContent()).hasSize(2);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    @Rollback
+    public void findDtoAll() {
+        // given
+        Team team = new Team("dtoTeam");
+        em.persist(team);
+        em.persist(new Member("dtoMember1", 131, team));
+        em.persist(new Member("dtoMember2", 132, team));
+        em.flush();
+        em.clear();
+        PageRequest pageRequest = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "age").and(Sort.by("username")));
+
+        // when
+        Page<Member> entities = memberRepository.findAll(pageRequest, CountStrategy.EXACT);
+        em.clear();
+        Page<MemberDto> dtos = memberRepository.findDtoAll(pageRequest, CountStrategy.EXACT);
+
+        // then - 같은 정렬, 같은 페이지 + 팀 이름 (엔티티 -> Dto 변환은 teamName이 항상 null)
+        assertThat(dtos.getContent()).extracting("id")
+                .containsExactlyElementsOf(entities.map(Member::getId).getContent());
+        assertThat(dtos.getTotalElements()).isEqualTo(entities.getTotalElements());
+        assertThat(dtos.getContent()).filteredOn(dto -> dto.getUsername().startsWith("dtoMember"))
+                .hasSize(2)
+                .extracting("teamName").containsOnly("dtoTeam");
+    }
+
+    @Test
+    @Rollback
+    public void findDtoAllSortedByTeamName() {
+        // given
+        Team team = new Team("dtoSortTeam");
+        em.persist(team);
+        Member withTeam = new Member("dtoSortMember1", 133, team);
+        Member noTeam = new Member("dtoSortMember2", 133);
+        em.persist(withTeam);
+        em.persist(noTeam);
+        em.flush();
+        em.clear();
+        PageRequest pageRequest = PageRequest.of(0, 1000, Sort.by("team.name").and(Sort.by("username")));
+
+        // when
+        Page<MemberDto> dtos = memberRepository.findDtoAll(pageRequest, CountStrategy.EXACT);
+        Page<Member> entities = memberRepository.findAll(pageRequest, CountStrategy.EXACT);
+
+        // then - team.name 정렬도 left join 기준 -> 팀 없는 회원도 포함, 전체 건수와 같음
+        assertThat(dtos.getContent()).extracting("id").contains(withTeam.getId(), noTeam.getId());
+        assertThat(dtos.getContent()).hasSize((int) Math.min(dtos.getTotalElements(), 1000));
+        assertThat(entities.getContent()).extracting("id").contains(withTeam.getId(), noTeam.getId());
+    }
+
+    @Test
+    @Rollback
+    public void findByNamesChunked() {
+        // given
+        for (String name : Arrays.asList("chunkA", "chunkB", "chunkC", "chunkD", "chunkE")) {
+            memberRepository.save(new Member(name, 10));
+        }
+        memberRepository.save(new Member("chunkC", 20)); // 같은 이름 2명
+        em.flush();
+        em.clear();
+        List<String> names = Arrays.asList("chunkE", "chunkC", "none", "chunkA", "chunkE"); // 없는 이름, 중복 포함
+
+        // when
+        List<Member> result;
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open().recordStatements(1)) {
+            result = memberRepository.findByNamesChunked(names, 3, true); // 트랜잭션 안 -> 순서대로
+            assertThat(scope.total()).isEqualTo(2); // 중복 제거 4개 -> chunkSize 3은 2로 내림 -> 청크 2개, 2개
+
+            // padding 해도 파라미터 수는 chunkSize(3) 이하 (3개짜리 청크였으면 4개로 채워짐)
+            String firstChunk = scope.statements().get(0);
+            assertThat(firstChunk).contains("'chunkE'", "'chunkC'").doesNotContain("'none'");
+        }
+
+        // then - 넘긴 names 순서대로, 같은 이름은 id 순
+        assertThat(result).extracting("username").containsExactly("chunkE", "chunkC", "chunkC", "chunkA");
+        assertThat(result).extracting("age").containsExactly(10, 10, 20, 10);
+    }
+
+    @Test
+    @Rollback
+    public void findAllByIdMultiLoad() {
+        // given
+        Member m1 = new Member("multi1", 10);
+        Member m2 = new Member("multi2", 10);
+        Member m3 = new Member("multi3", 10);
+        em.persist(m1);
+        em.persist(m2);
+        em.persist(m3);
+        em.flush();
+        em.clear();
+        em.getEntityManagerFactory().getCache().evict(Member.class); // 2차 캐시 없이 영속성 컨텍스트만 확인
+        Member managed = em.find(Member.class, m1.getId());
+
+        // when
+        List<Member> ordered;
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            ordered = memberRepository.findAllById(Arrays.asList(m3.getId(), m1.getId(), -1L, m2.getId()), true);
+            assertThat(scope.total()).isEqualTo(1); // m2, m3만 IN 쿼리 한 번
+        }
+
+        // then - ids 순서, 없는 id는 null, 영속성 컨텍스트에 있던 엔티티는 그대로
+        assertThat(ordered).hasSize(4);
+        assertThat(ordered.get(0).getId()).isEqualTo(m3.getId());
+        assertThat(ordered.get(1)).isSameAs(managed);
+        assertThat(ordered.get(2)).isNull();
+        assertThat(ordered.get(3).getId()).isEqualTo(m2.getId());
+        assertThat(memberRepository.findAllById(Arrays.asList(-1L, m2.getId()), false))
+                .extracting("id").containsExactly(m2.getId());
+    }
+
+    @Test
+    @Rollback
+    public void findAllByIdSecondLevelCache() {
+        // given
+        Team t1 = new Team("multiTeam1");
+        Team t2 = new Team("multiTeam2");
+        em.persist(t1);
+        em.persist(t2);
+        em.flush();
+        em.clear();
+        em.getEntityManagerFactory().getCache().evict(Team.class);
+        em.find(Team.class, t1.getId()); // 조회하면서 2차 캐시에 저장
+        em.clear();
+
+        // when
+        List<Team> teams;
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            teams = teamRepository.findAllById(Arrays.asList(t1.getId(), t2.getId()), true);
+            assertThat(scope.total()).isEqualTo(1); // t1은 2차 캐시, t2만 DB
+        }
+
+        // then
+        assertThat(teams).extracting("name").containsExactly("multiTeam1", "multiTeam2");
+    }
+
+    // member insert 실행 횟수 (JDBC batch는 executeBatch 한 번이 1회)
+    private static int insertCount(SqlStatementCounter.Scope scope) {
+        return scope.countsByShape().entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith("insert into member"))
+                .mapToInt(Map.Entry::getValue)
+                .sum();
+    }
+}
@@ -0,0 +1,93 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.sql.SqlStatementCounter;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 검색 조건 조합마다 실행 계획(EXPLAIN) 확인 - 인덱스를 못 타고 테이블 풀 스캔하는 경우가 없어야 함
+@SpringBootTest
+@Transactional
+class MemberSearchPlanTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired SqlStatementCounter sqlStatementCounter;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @PersistenceContext EntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 20; i++) {
+            Team team = new Team("planTeam" + i);
+            em.persist(team);
+            for (int j = 0; j < 10; j++) {
+                em.persist(new Member("plan" + i + "_" + j, j * 10, team));
+            }
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void noTableScan() {
+        List<MemberSearchCondition> conditions = new ArrayList<>();
+        conditions.add(condition(c -> c.setUsername("plan1_1")));
+        conditions.add(condition(c -> c.setUsernamePrefix("plan1_")));
+        conditions.add(condition(c -> { c.setAgeGoe(30); c.setAgeLoe(40); }));
+        conditions.add(condition(c -> c.setTeamName("planTeam3")));
+        conditions.add(condition(c -> { c.setUsernamePrefix("plan2"); c.setAgeGoe(50); }));
+        conditions.add(condition(c -> { c.setAgeLoe(10); c.setTeamName("planTeam4"); }));
+        conditions.add(condition(c -> { c.setUsernamePrefix("plan5"); c.setAgeGoe(10); c.setAgeLoe(90); c.setTeamName("planTeam5"); }));
+
+        for (MemberSearchCondition condition : conditions) {
+            List<String> statements;
+            try (SqlStatementCounter.Scope scope = sqlStatementCounter.open().recordStatements(10)) {
+                memberRepository.findAll(MemberSpec.of(condition), PageRequest.of(0, 5)); // 조회 + count 쿼리
+                memberRepository.search(condition);
+                memberRepository.search(condition, PageRequest.of(0, 5)); // /members/search 경로 (조회 + count 쿼리)
+                statements = new ArrayList<>(scope.statements());
+            }
+
+            for (String sql : statements) {
+                String plan = String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class));
+                System.out.println("plan = " + plan);
+                assertThat(plan).doesNotContainIgnoringCase("tableScan");
+            }
+        }
+    }
+
+    @Test
+    public void cursorPagingUsesIndexRange() {
+        String sql;
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open().recordStatements(1)) {
+            memberRepository.findByCursor(new MemberCursor("plan5_5", Long.MAX_VALUE), 5);
+            sql = scope.statements().get(0);
+        }
+
+        // username <= ? 조건으로 (username, member_id) 인덱스 범위 검색 - 뒤쪽 페이지도 스캔 X
+        String plan = String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class));
+        System.out.println("plan = " + plan);
+        assertThat(plan).containsIgnoringCase("idx_member_username_id");
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+    }
+
+    private static MemberSearchCondition condition(Consumer<MemberSearchCondition> setter) {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        setter.accept(condition);
+        return condition;
+    }
+}
@@ -0,0 +1,116 @@
+package study.datajpa.repository;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.sql.SqlStatementCounter;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+
+// 읽기 전용 트랜잭션: 스냅샷 X, FlushMode.MANUAL, 읽기 전용 커넥션 (요청당 할당량 비교는 src/jmh MemberRepositoryBenchmark)
+@SpringBootTest
+class ReadOnlyTransactionTest {
+
+    static final int PAGE_SIZE = 1000;
+
+    @Autowired MemberRepository memberRepository;
+    @SpyBean PlatformTransactionManager transactionManager; // 리포지토리가 어떤 트랜잭션을 시작하는지 확인
+    @Autowired DataSource dataSource;
+    @Autowired SqlStatementCounter sqlStatementCounter;
+    @PersistenceContext EntityManager em;
+
+    List<Long> memberIds;
+
+    @BeforeEach
+    void setUp() {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            members.add(new Member("readOnly" + i, i));
+        }
+        memberRepository.saveAllBatched(members, 500);
+        memberIds = members.stream().map(Member::getId).collect(Collectors.toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAllByIdInBatch(memberIds); // 테스트 트랜잭션 없이 커밋한 회원 정리
+    }
+
+    @Test
+    public void readOnlyMode() {
+        TransactionTemplate readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+
+        readOnlyTx.executeWithoutResult(status -> {
+            Session session = em.unwrap(Session.class);
+            List<Member> members = memberRepository.findAll(PageRequest.of(0, 10), CountStrategy.EXACT).getContent();
+
+            assertThat(session.getHibernateFlushMode()).isEqualTo(FlushMode.MANUAL);
+            assertThat(members).allMatch(session::isReadOnly); // 스냅샷 없음 -> 변경 감지 X
+            assertThat(isConnectionReadOnly()).isTrue();
+        });
+    }
+
+    @Test
+    public void declaredFinderOutsideTransaction() {
+        // 트랜잭션 밖에서 인터페이스에 선언한 쿼리 메서드 호출 -> 리포지토리가 읽기 전용 트랜잭션 시작
+        clearInvocations(transactionManager);
+        List<Member> members = memberRepository.findByUsername("readOnly1");
+
+        assertThat(members).isNotEmpty();
+        verify(transactionManager).getTransaction(argThat(definition -> definition != null && definition.isReadOnly()));
+    }
+
+    @Test
+    public void readOnlySkipsDirtyCheckingFlush() {
+        TransactionTemplate readWriteTx = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+
+        // 조회한 엔티티를 바꾸고 flush - 읽기 전용이면 스냅샷이 없어서 update 없음
+        assertThat(updatesAfterChangingFirstMember(readWriteTx)).isEqualTo(1);
+        assertThat(updatesAfterChangingFirstMember(readOnlyTx)).isEqualTo(0);
+    }
+
+    private boolean isConnectionReadOnly() {
+        try {
+            return DataSourceUtils.getConnection(dataSource).isReadOnly();
+        } catch (java.sql.SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private int updatesAfterChangingFirstMember(TransactionTemplate tx) {
+        return tx.execute(status -> {
+            status.setRollbackOnly(); // 데이터는 그대로
+            Page<Member> page = memberRepository.findAll(PageRequest.of(0, PAGE_SIZE, Sort.by("id")), CountStrategy.EXACT);
+            try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+                page.getContent().get(0).changeUsername("changed");
+                em.flush();
+                return scope.total();
+            }
+        });
+    }
+}
@@ -0,0 +1,72 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.sql.SqlStatementCounter;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 팀 1000개 기준 지연 로딩 쿼리 수 (배치 페치 X: TeamNoBatchFetchTest)
+@SpringBootTest
+@Transactional
+class TeamBatchFetchTest {
+
+    static final int TEAM_COUNT = 1000;
+    static final int BATCH_SIZE = 100; // application.yml default_batch_fetch_size
+
+    @PersistenceContext EntityManager em;
+    @Autowired SqlStatementCounter sqlStatementCounter;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < TEAM_COUNT; i++) {
+            Team team = new Team("batchTeam" + i);
+            em.persist(team);
+            em.persist(new Member("batchMember" + i, 10, team));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    // 최대 쿼리 수: 조회 1번 + IN 절 ceil(n / batch size)번
+    int maxQueries() {
+        return 1 + (TEAM_COUNT + BATCH_SIZE - 1) / BATCH_SIZE;
+    }
+
+    @Test
+    public void teamMembers() {
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open(Integer.MAX_VALUE)) {
+            List<Team> teams = em.createQuery("select t from Team t where t.name like 'batchTeam%'", Team.class)
+                    .getResultList();
+            for (Team team : teams) {
+                team.getMembers().size(); // 컬렉션 초기화
+            }
+
+            assertThat(teams).hasSize(TEAM_COUNT);
+            assertThat(scope.total()).isLessThanOrEqualTo(maxQueries());
+        }
+    }
+
+    @Test
+    public void memberTeam() {
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open(Integer.MAX_VALUE)) {
+            List<Member> members = em.createQuery("select m from Member m where m.username like 'batchMember%'", Member.class)
+                    .getResultList();
+            for (Member member : members) {
+                member.getTeam().getName(); // 프록시 초기화
+            }
+
+            assertThat(members).hasSize(TEAM_COUNT);
+            assertThat(scope.total()).isLessThanOrEqualTo(maxQueries());
+        }
+    }
+}
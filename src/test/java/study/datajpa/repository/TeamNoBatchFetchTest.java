@@ -0,0 +1,13 @@
+package study.datajpa.repository;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+// 배치 페치 적용 전 동작: 팀/프록시 하나당 쿼리 1번 (1 + N)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.default_batch_fetch_size=-1")
+class TeamNoBatchFetchTest extends TeamBatchFetchTest {
+
+    @Override
+    int maxQueries() {
+        return 1 + TEAM_COUNT;
+    }
+}
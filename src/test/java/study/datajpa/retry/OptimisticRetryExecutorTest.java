@@ -0,0 +1,75 @@
+package study.datajpa.retry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "datajpa.retry.max-attempts=50") // 스레드 4개가 같은 row를 계속 수정하므로 넉넉하게
+class OptimisticRetryExecutorTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired OptimisticRetryExecutor retryExecutor;
+
+    @Test
+    public void concurrentAgePlus() throws Exception {
+        // given
+        Long id = memberRepository.save(new Member("optimistic", 0)).getId();
+        int threads = 4;
+        int updatesPerThread = 25;
+
+        // when
+        // 같은 회원 나이를 동시에 +1 -> 충돌나면 재시도
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < updatesPerThread; j++) {
+                    retryExecutor.run(() -> {
+                        Member member = memberRepository.findById(id).get();
+                        member.setAge(member.getAge() + 1);
+                    });
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // then
+        Member member = memberRepository.findById(id).get();
+        assertThat(member.getAge()).isEqualTo(threads * updatesPerThread); // 잃어버린 수정 없음
+        assertThat(member.getVersion()).isEqualTo(threads * updatesPerThread);
+    }
+
+    @Test
+    public void bulkUpdateIncrementsVersion() {
+        // given
+        Member stale = memberRepository.save(new Member("bulkVersioned", 5000)); // 벌크 수정 전에 조회한 상태
+        try {
+            // when
+            memberRepository.bulkAgePlusChunked(5000, 100, stale.getId() - 1, null);
+
+            // then - 오래된 엔티티로 덮어쓰면 벌크 수정이 사라짐 -> 낙관적 락 예외
+            stale.setUsername("staleWrite");
+            assertThrows(ObjectOptimisticLockingFailureException.class, () -> memberRepository.save(stale));
+            Member member = memberRepository.findById(stale.getId()).get();
+            assertThat(member.getAge()).isEqualTo(5001);
+            assertThat(member.getVersion()).isEqualTo(stale.getVersion() + 1);
+        } finally {
+            memberRepository.deleteById(stale.getId());
+        }
+    }
+}